@@ -0,0 +1,40 @@
+package com.example.customercontactapp.benchmark;
+
+import com.example.customercontactapp.CustomercontactappApplication;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+final class BenchmarkSupport {
+
+    private static final ContactType[] TYPES = ContactType.values();
+
+    private BenchmarkSupport() {
+    }
+
+    // command line arguments take precedence over application.properties
+    static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(CustomercontactappApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                 "--spring.jpa.show-sql=false",
+                 "--logging.level.root=WARN");
+    }
+
+    static Customer customer(int contactCount) {
+        return customer(contactCount, 0, 0);
+    }
+
+    // the last changedCount contacts get values that depend on variant, the rest stay stable
+    static Customer customer(int contactCount, int changedCount, int variant) {
+        Customer customer = new Customer("Customer " + contactCount);
+        for (int i = 0; i < contactCount; i++) {
+            String suffix = i < contactCount - changedCount ? String.valueOf(i) : variant + "-" + i;
+            customer.addContact(new Contact(null, TYPES[i % TYPES.length], "contact-" + suffix));
+        }
+        return customer;
+    }
+}
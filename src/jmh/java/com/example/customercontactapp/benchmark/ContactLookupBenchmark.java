@@ -0,0 +1,90 @@
+package com.example.customercontactapp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Lookup latency against the V3 indexes; indexed=false drops them first to show the scan cost.
+// customer_id stays covered by the index H2 creates for the foreign key constraint.
+// Loading 10M contacts needs a large heap: -PjmhArgs="ContactLookup -p contactCount=10000000"
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class ContactLookupBenchmark {
+
+    private static final String[] TYPES = {"PHONE", "HOME", "EMAIL"};
+
+    @Param({"1000000", "10000000"})
+    public int contactCount;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private int customerCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        customerCount = contactCount / 10;
+
+        jdbcTemplate.update("INSERT INTO customers (id, name) SELECT X, 'Customer ' || X FROM SYSTEM_RANGE(1, ?)",
+            customerCount);
+        jdbcTemplate.update("INSERT INTO contacts (id, contact_type, contact_info, normalized_info, customer_id) "
+            + "SELECT X, CASE MOD(X, 3) WHEN 0 THEN 'PHONE' WHEN 1 THEN 'HOME' ELSE 'EMAIL' END, "
+            + "'contact-' || X, CASE MOD(X, 3) WHEN 0 THEN CAST(X AS VARCHAR) ELSE 'contact-' || X END, "
+            + "MOD(X, ?) + 1 FROM SYSTEM_RANGE(1, ?)", customerCount, contactCount);
+
+        if (!indexed) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_contacts_type_info");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_contacts_type_normalized");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_customers_name");
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> contactsByCustomerId() {
+        long customerId = ThreadLocalRandom.current().nextLong(1, customerCount + 1);
+        return jdbcTemplate.queryForList(
+            "SELECT id, contact_type, contact_info FROM contacts WHERE customer_id = ?", customerId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> contactByTypeAndInfo() {
+        long id = ThreadLocalRandom.current().nextLong(1, contactCount + 1);
+        return jdbcTemplate.queryForList(
+            "SELECT id, customer_id FROM contacts WHERE contact_type = ? AND contact_info = ?",
+            TYPES[(int) (id % 3)], "contact-" + id);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> ownerByNormalizedInfo() {
+        long id = ThreadLocalRandom.current().nextLong(1, contactCount + 1);
+        String type = TYPES[(int) (id % 3)];
+        return jdbcTemplate.queryForList(
+            "SELECT customer_id, id FROM contacts WHERE contact_type = ? AND normalized_info = ?",
+            type, "PHONE".equals(type) ? String.valueOf(id) : "contact-" + id);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> customersByName() {
+        long id = ThreadLocalRandom.current().nextLong(1, customerCount + 1);
+        return jdbcTemplate.queryForList("SELECT id FROM customers WHERE name = ?", "Customer " + id);
+    }
+}
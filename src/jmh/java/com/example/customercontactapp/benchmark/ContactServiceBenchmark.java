@@ -0,0 +1,51 @@
+package com.example.customercontactapp.benchmark;
+
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.service.ContactService;
+import com.example.customercontactapp.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactServiceBenchmark {
+
+    // contacts the customer already has
+    @Param({"10", "100", "1000"})
+    public int contactCount;
+
+    private ConfigurableApplicationContext context;
+    private ContactService contactService;
+    private Long customerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        contactService = context.getBean(ContactService.class);
+        customerId = context.getBean(CustomerService.class)
+            .createCustomer(BenchmarkSupport.customer(contactCount)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Contact createContact() {
+        return contactService.createContact(customerId, new Contact(customerId, ContactType.EMAIL, "new@example.com"));
+    }
+
+    @Benchmark
+    public List<Contact> getContactsByCustomerId() {
+        return contactService.getContactsByCustomerId(customerId);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.customercontactapp.benchmark;
+
+import com.example.customercontactapp.dto.CustomerSearchHit;
+import com.example.customercontactapp.service.CustomerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Search latency (see the p0.99 row) over generated names; the index is rebuilt after the SQL load.
+// -PjmhArgs="CustomerSearch -p customerCount=5000000"
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class CustomerSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Anna", "Ben", "Carla", "David", "Emma", "Felix", "Greta", "Hugo",
+        "Ida", "Jonas", "Klara", "Lukas", "Mia", "Noah", "Olga", "Paul", "Rosa", "Simon", "Tara", "Victor"};
+    private static final String[] SYLLABLES = {"ber", "den", "fal", "gar", "hol", "kin", "lam", "mor", "nes", "ost",
+        "pra", "ren", "sel", "tor", "urb", "val", "wes", "zan", "bri", "cho"};
+
+    @Param({"1000000", "5000000"})
+    public int customerCount;
+
+    private ConfigurableApplicationContext context;
+    private CustomerSearchIndex customerSearchIndex;
+    private List<String> lastNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        customerSearchIndex = context.getBean(CustomerSearchIndex.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        lastNames = new ArrayList<>();
+        for (String first : SYLLABLES) {
+            for (String second : SYLLABLES) {
+                for (String third : SYLLABLES) {
+                    lastNames.add(Character.toUpperCase(first.charAt(0)) + first.substring(1) + second + third);
+                }
+            }
+        }
+
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (long id = 1; id <= customerCount; id++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + lastNames.get(random.nextInt(lastNames.size()));
+            batch.add(new Object[] {id, name});
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate("INSERT INTO customers (id, name) VALUES (?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO customers (id, name) VALUES (?, ?)", batch);
+        }
+        customerSearchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerSearchHit> prefix() {
+        return customerSearchIndex.search(randomLastName().substring(0, 4), 0, 20);
+    }
+
+    @Benchmark
+    public List<CustomerSearchHit> fuzzy() {
+        String lastName = randomLastName();
+        // drop one character after the first, one edit away from an indexed term
+        int drop = ThreadLocalRandom.current().nextInt(1, lastName.length());
+        return customerSearchIndex.search(lastName.substring(0, drop) + lastName.substring(drop + 1), 0, 20);
+    }
+
+    @Benchmark
+    public List<CustomerSearchHit> fullName() {
+        String firstName = FIRST_NAMES[ThreadLocalRandom.current().nextInt(FIRST_NAMES.length)];
+        return customerSearchIndex.search(firstName + " " + randomLastName(), 0, 20);
+    }
+
+    private String randomLastName() {
+        return lastNames.get(ThreadLocalRandom.current().nextInt(lastNames.size()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.customercontactapp.benchmark;
+
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int contactCount;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private Long customerId;
+    private int variant;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        customerService = context.getBean(CustomerService.class);
+        customerId = customerService.createCustomer(BenchmarkSupport.customer(contactCount)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        return customerService.createCustomer(BenchmarkSupport.customer(contactCount));
+    }
+
+    // every call swaps a tenth of the contacts, the rest match existing rows
+    @Benchmark
+    public Customer updateCustomerWithContacts() {
+        Customer request = BenchmarkSupport.customer(contactCount, Math.max(1, contactCount / 10), variant++);
+        return customerService.updateCustomerWithContacts(customerId, request);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.customercontactapp.benchmark;
+
+import com.example.customercontactapp.config.ResponseJsonModule;
+import com.example.customercontactapp.dto.CustomerResponse;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.Customer;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+// Reflective record serialization against ResponseJsonModule, writing to a stream as the HTTP
+// converters do, on the body GET /api/customers/{id} sends for a customer with N contacts.
+// Compare gc.alloc.rate.norm (bytes per operation) of the two methods.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int contactCount;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+    private JsonMapper reflectiveMapper;
+    private JsonMapper handWrittenMapper;
+    private CustomerResponse customer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reflectiveMapper = JsonMapper.builder().build();
+        handWrittenMapper = JsonMapper.builder().addModule(new ResponseJsonModule()).build();
+        Customer entity = BenchmarkSupport.customer(contactCount);
+        entity.setId(1L);
+        long id = 1;
+        for (Contact contact : entity.getContacts()) {
+            contact.setId(id++);
+        }
+        customer = CustomerResponse.from(entity);
+    }
+
+    @Benchmark
+    public void reflective() {
+        reflectiveMapper.writeValue(out, customer);
+    }
+
+    @Benchmark
+    public void handWritten() {
+        handWrittenMapper.writeValue(out, customer);
+    }
+}
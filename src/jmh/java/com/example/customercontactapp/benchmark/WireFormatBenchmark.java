@@ -0,0 +1,64 @@
+package com.example.customercontactapp.benchmark;
+
+import com.example.customercontactapp.config.ResponseJsonModule;
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.dto.CustomerResponse;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.Customer;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encode and decode cost of the contacts-by-customer payload in each wire format, with the
+// mappers configured as in WireFormatConfig. Encoded sizes are printed once per trial.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"10", "100"})
+    public int contactCount;
+
+    private ObjectMapper mapper;
+    private List<ContactResponse> contacts;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ResponseJsonModule module = new ResponseJsonModule();
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().addModule(module).build();
+            case "smile" -> SmileMapper.builder().addModule(module).build();
+            default -> JsonMapper.builder().addModule(module).build();
+        };
+        Customer customer = BenchmarkSupport.customer(contactCount);
+        long id = 1;
+        for (Contact contact : customer.getContacts()) {
+            contact.setId(id++);
+        }
+        contacts = CustomerResponse.from(customer).contacts();
+        encoded = mapper.writeValueAsBytes(contacts);
+        System.out.printf("%n%s, %d contacts: %d bytes%n", format, contactCount, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return mapper.writeValueAsBytes(contacts);
+    }
+
+    @Benchmark
+    public ContactResponse[] decode() {
+        return mapper.readValue(encoded, ContactResponse[].class);
+    }
+}
@@ -12,5 +12,11 @@ public class AppConfig {
     public ObjectMapper getObectMapper() {
         return new ObjectMapper();
     }
+
+    // registered by Spring Boot on the JsonMapper that writes the HTTP responses
+    @Bean
+    public ResponseJsonModule responseJsonModule() {
+        return new ResponseJsonModule();
+    }
     
 }
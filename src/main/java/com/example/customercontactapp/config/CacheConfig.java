@@ -0,0 +1,74 @@
+package com.example.customercontactapp.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+@Configuration
+public class CacheConfig {
+
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    // dashboard aggregates, short-lived so writes that bypass Hibernate show up soon
+    static final String CONTACT_STATS_REGION = "contact-stats";
+
+    static final List<String> REGIONS = List.of(
+        "customers",
+        "customers.contacts",
+        "contacts",
+        "contacts-by-customer",
+        "default-query-results-region",
+        CONTACT_STATS_REGION,
+        UPDATE_TIMESTAMPS_REGION);
+
+    @Bean
+    public CacheManager hibernateCacheManager(@Value("${app.cache.maximum-size:10000}") long maximumSize,
+                                              @Value("${app.cache.time-to-live:10m}") Duration timeToLive,
+                                              @Value("${app.cache.stats-time-to-live:30s}") Duration statsTimeToLive,
+                                              @Value("${app.cache.statistics-enabled:true}") boolean statisticsEnabled) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : REGIONS) {
+            if (cacheManager.getCache(region) != null) {
+                continue;
+            }
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            // hit/miss counters are published as javax.cache:type=CacheStatistics MBeans
+            configuration.setStatisticsEnabled(statisticsEnabled);
+            configuration.setManagementEnabled(statisticsEnabled);
+            // Hibernate requires the timestamps region to outlive every cached query result
+            if (!UPDATE_TIMESTAMPS_REGION.equals(region)) {
+                configuration.setMaximumSize(OptionalLong.of(maximumSize));
+                Duration regionTimeToLive = CONTACT_STATS_REGION.equals(region) ? statsTimeToLive : timeToLive;
+                configuration.setExpireAfterWrite(OptionalLong.of(regionTimeToLive.toNanos()));
+            }
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+
+    // Entity, collection and query entries are filled by whichever read missed them, and with a
+    // replica that read sees the lagging copy: a row cached from it outlives the eviction of the
+    // write it missed. The caches stay off while reads can be routed to a replica.
+    @Bean
+    @ConditionalOnProperty("app.datasource.replica.jdbc-url")
+    public HibernatePropertiesCustomizer replicaCacheCustomizer() {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", false);
+            properties.put("hibernate.cache.use_query_cache", false);
+        };
+    }
+}
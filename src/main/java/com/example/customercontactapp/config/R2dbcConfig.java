@@ -0,0 +1,61 @@
+package com.example.customercontactapp.config;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+// R2DBC access to the database behind spring.datasource.url, for the /api/reactive endpoints.
+// The pool is deliberately not a ConnectionFactory bean: DataSourceAutoConfiguration backs off
+// when one exists, and a second TransactionManager bean would make @Transactional ambiguous.
+// Only the H2 driver is on the classpath, so the reactive beans are opt-in: app.reactive.enabled
+// has to be switched off with a spring.datasource.url on any other database.
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class R2dbcConfig {
+
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    private final ConnectionPool connectionPool;
+
+    public R2dbcConfig(DataSourceProperties properties, @Value("${app.r2dbc.pool.max-size:20}") int maxSize) {
+        String url = properties.determineUrl();
+        if (url == null || !url.startsWith(H2_JDBC_PREFIX)) {
+            throw new IllegalStateException("Reactive endpoints need an H2 spring.datasource.url, got: " + url
+                + " (set app.reactive.enabled=false to run without them)");
+        }
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+            .url(url.substring(H2_JDBC_PREFIX.length()))
+            .username(properties.determineUsername())
+            .password(properties.determinePassword())
+            .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(new H2ConnectionFactory(configuration))
+            .initialSize(0)
+            .maxSize(maxSize)
+            .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @PreDestroy
+    void close() {
+        connectionPool.dispose();
+    }
+}
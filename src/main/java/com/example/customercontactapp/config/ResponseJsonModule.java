@@ -0,0 +1,104 @@
+package com.example.customercontactapp.config;
+
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.dto.CustomerResponse;
+import com.example.customercontactapp.entity.ContactType;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Hand-written serializers for the response payloads. Property names and ContactType values are
+// encoded once up front and written straight to the generator of the response stream, instead of
+// going through the introspected record serializers. Output is the same as the default mapping.
+public class ResponseJsonModule extends SimpleModule {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString VERSION = new SerializedString("version");
+    private static final SerializableString CONTACTS = new SerializedString("contacts");
+    private static final SerializableString CONTACT_TYPE = new SerializedString("contactType");
+    private static final SerializableString CONTACT_INFO = new SerializedString("contactInfo");
+
+    private static final Map<ContactType, SerializableString> CONTACT_TYPES = new EnumMap<>(ContactType.class);
+
+    static {
+        for (ContactType type : ContactType.values()) {
+            CONTACT_TYPES.put(type, new SerializedString(type.name()));
+        }
+    }
+
+    public ResponseJsonModule() {
+        super("response-json");
+        addSerializer(CustomerResponse.class, new CustomerResponseSerializer());
+        addSerializer(ContactResponse.class, new ContactResponseSerializer());
+        addSerializer(ContactType.class, new ContactTypeSerializer());
+    }
+
+    static final class CustomerResponseSerializer extends ValueSerializer<CustomerResponse> {
+        @Override
+        public void serialize(CustomerResponse customer, JsonGenerator gen, SerializationContext context) {
+            gen.writeStartObject();
+            writeLong(gen, ID, customer.id());
+            gen.writeName(NAME);
+            gen.writeString(customer.name());
+            writeLong(gen, VERSION, customer.version());
+            gen.writeName(CONTACTS);
+            List<ContactResponse> contacts = customer.contacts();
+            if (contacts == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray();
+                for (ContactResponse contact : contacts) {
+                    writeContact(gen, contact);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class ContactResponseSerializer extends ValueSerializer<ContactResponse> {
+        @Override
+        public void serialize(ContactResponse contact, JsonGenerator gen, SerializationContext context) {
+            writeContact(gen, contact);
+        }
+    }
+
+    static final class ContactTypeSerializer extends ValueSerializer<ContactType> {
+        @Override
+        public void serialize(ContactType type, JsonGenerator gen, SerializationContext context) {
+            gen.writeString(CONTACT_TYPES.get(type));
+        }
+    }
+
+    private static void writeContact(JsonGenerator gen, ContactResponse contact) {
+        gen.writeStartObject();
+        writeLong(gen, ID, contact.id());
+        gen.writeName(CONTACT_TYPE);
+        if (contact.contactType() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(CONTACT_TYPES.get(contact.contactType()));
+        }
+        gen.writeName(CONTACT_INFO);
+        gen.writeString(contact.contactInfo());
+        writeLong(gen, VERSION, contact.version());
+        gen.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator gen, SerializableString name, Long value) {
+        gen.writeName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+}
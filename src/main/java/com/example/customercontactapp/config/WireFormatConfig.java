@@ -0,0 +1,35 @@
+package com.example.customercontactapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.List;
+
+// Binary encodings of the same model for service-to-service callers: application/cbor and
+// application/x-jackson-smile are chosen through Accept for responses and Content-Type for request
+// bodies, on every endpoint that does not fix its media type. They go after the JSON converter so
+// clients that accept anything keep getting JSON.
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final ResponseJsonModule responseJsonModule;
+
+    public WireFormatConfig(ResponseJsonModule responseJsonModule) {
+        this.responseJsonModule = responseJsonModule;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof JacksonCborHttpMessageConverter
+            || converter instanceof JacksonSmileHttpMessageConverter);
+        converters.add(new JacksonCborHttpMessageConverter(
+            CBORMapper.builder().addModule(responseJsonModule).build()));
+        converters.add(new JacksonSmileHttpMessageConverter(
+            SmileMapper.builder().addModule(responseJsonModule).build()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.customercontactapp.controller;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Response bodies that are read chunk by chunk while they are serialized. The message converter
+// writes each element as it is reached, so only one chunk is in memory, the first bytes go out
+// after the first chunk, and every chunk is a short query of its own: no connection is held
+// while a slow client drains the previous one.
+final class Chunked {
+
+    private Chunked() {
+    }
+
+    // rows after afterId in id order, chunkSize at a time until a short chunk
+    static <T> Iterable<T> keyset(Long afterId, int chunkSize, BiFunction<Long, Integer, List<T>> query,
+                                  Function<T, Long> id) {
+        return () -> new ChunkIterator<>() {
+            private Long cursor = afterId;
+            private boolean last;
+
+            @Override
+            List<T> nextChunk() {
+                if (last) {
+                    return null;
+                }
+                List<T> chunk = query.apply(cursor, chunkSize);
+                last = chunk.size() < chunkSize;
+                if (!chunk.isEmpty()) {
+                    cursor = id.apply(chunk.get(chunk.size() - 1));
+                }
+                return chunk;
+            }
+        };
+    }
+
+    // the rows of a known list of keys, chunkSize keys per query
+    static <K, T> Iterable<T> byKeys(List<K> keys, int chunkSize, Function<List<K>, List<T>> query) {
+        return () -> new ChunkIterator<>() {
+            private int from;
+
+            @Override
+            List<T> nextChunk() {
+                if (from >= keys.size()) {
+                    return null;
+                }
+                int to = Math.min(from + chunkSize, keys.size());
+                List<T> chunk = query.apply(keys.subList(from, to));
+                from = to;
+                return chunk;
+            }
+        };
+    }
+
+    private abstract static class ChunkIterator<T> implements Iterator<T> {
+
+        private Iterator<T> current = Collections.emptyIterator();
+
+        // null once there is nothing left to read
+        abstract List<T> nextChunk();
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                List<T> chunk = nextChunk();
+                if (chunk == null) {
+                    return false;
+                }
+                current = chunk.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
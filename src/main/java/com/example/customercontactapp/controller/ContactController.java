@@ -1,56 +1,146 @@
 package com.example.customercontactapp.controller;
 
+import com.example.customercontactapp.dto.ContactIngestRequest;
+import com.example.customercontactapp.dto.ContactIngestResult;
+import com.example.customercontactapp.dto.ContactOwner;
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.dto.ContactTypeCount;
+import com.example.customercontactapp.dto.CustomerVersion;
 import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.service.ContactIngestionQueue;
 import com.example.customercontactapp.service.ContactService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/contacts")
 public class ContactController {
     
+    private static final int MAX_INGEST_SIZE = 1000;
+    
     private final ContactService contactService;
+    private final ContactIngestionQueue contactIngestionQueue;
+    private final int streamChunkSize;
     
-    public ContactController(ContactService contactService) {
+    public ContactController(ContactService contactService, ContactIngestionQueue contactIngestionQueue,
+                             @Value("${app.list-stream.chunk-size:500}") int streamChunkSize) {
         this.contactService = contactService;
+        this.contactIngestionQueue = contactIngestionQueue;
+        this.streamChunkSize = streamChunkSize;
     }
     
     @PostMapping("/customer/{customerId}")
-    public ResponseEntity<Contact> createContact(@PathVariable Long customerId, @RequestBody Contact contact) {
+    public ResponseEntity<ContactResponse> createContact(@PathVariable Long customerId, @RequestBody Contact contact) {
         try {
             Contact createdContact = contactService.createContact(customerId, contact);
-            return new ResponseEntity<>(createdContact, HttpStatus.CREATED);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETags.of(createdContact.getVersion()))
+                .body(ContactResponse.from(createdContact));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    // Write-behind ingestion, the contacts are group committed by a background writer.
+    // ack=NONE answers 202 once they are queued, ack=COMMIT once their batch has committed,
+    // without holding a request thread meanwhile. A full queue answers 429.
+    @PostMapping("/ingest")
+    public CompletableFuture<ResponseEntity<ContactIngestResult>> ingestContacts(
+            @RequestBody List<ContactIngestRequest> contacts,
+            @RequestParam(defaultValue = "NONE") ContactIngestionQueue.Ack ack) {
+        if (contacts.isEmpty() || contacts.size() > MAX_INGEST_SIZE || contacts.contains(null)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        List<CompletableFuture<Long>> committed;
+        try {
+            committed = contactIngestionQueue.submit(contacts);
+        } catch (ContactIngestionQueue.QueueFullException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build());
+        }
+        if (ack == ContactIngestionQueue.Ack.NONE) {
+            return CompletableFuture.completedFuture(ResponseEntity.accepted()
+                .body(new ContactIngestResult(contacts.size(), 0, 0, List.of())));
+        }
+        return CompletableFuture.allOf(committed.toArray(CompletableFuture[]::new))
+            .handle((done, failure) -> {
+                List<Long> ids = new ArrayList<>(committed.size());
+                committed.forEach(f -> ids.add(f.isCompletedExceptionally() ? null : f.join()));
+                int failed = (int) committed.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+                return ResponseEntity.ok(new ContactIngestResult(contacts.size(), contacts.size() - failed, failed, ids));
+            });
+    }
+    
+    // one row per type, so no paging
+    @GetMapping("/stats/by-type")
+    public ResponseEntity<List<ContactTypeCount>> getContactCountsByType() {
+        return ResponseEntity.ok(contactService.getContactCountsByType());
+    }
+    
+    // every contact, read in keyset chunks while the array is written out
     @GetMapping
-    public ResponseEntity<List<Contact>> getAllContacts() {
-        List<Contact> contacts = contactService.getAllContacts();
-        return ResponseEntity.ok(contacts);
+    public ResponseEntity<Iterable<ContactResponse>> getAllContacts() {
+        return ResponseEntity.ok(Chunked.keyset(0L, streamChunkSize, contactService::getContactResponsesAfter,
+            ContactResponse::id));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Contact> getContactById(@PathVariable Long id) {
-        return contactService.getContactById(id)
-            .map(ResponseEntity::ok)
+    public ResponseEntity<ContactResponse> getContactById(@PathVariable Long id) {
+        return contactService.getContactResponseById(id)
+            .map(contact -> ResponseEntity.ok().eTag(ETags.of(contact.version())).body(contact))
             .orElse(ResponseEntity.notFound().build());
     }
     
+    // validated against the customer's contacts version, which every contact write moves
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Contact>> getContactsByCustomerId(@PathVariable Long customerId) {
-        List<Contact> contacts = contactService.getContactsByCustomerId(customerId);
-        return ResponseEntity.ok(contacts);
+    public ResponseEntity<List<ContactResponse>> getContactsByCustomerId(@PathVariable Long customerId,
+                                                                         HttpServletRequest request) {
+        Optional<CustomerVersion> version = contactService.getCustomerVersion(customerId);
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        String eTag = ETags.of(version.get().contactsVersion());
+        if (ETags.notModified(request, eTag, version.get().lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .lastModified(version.get().lastModified())
+                .build();
+        }
+        // a write after the version query only makes the list newer than its ETag, which
+        // costs the client a full response on its next revalidation
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .lastModified(version.get().lastModified())
+            .body(contactService.getContactResponsesByCustomerId(customerId));
+    }
+    
+    @GetMapping("/lookup")
+    public ResponseEntity<List<ContactOwner>> lookupOwners(@RequestParam ContactType type, @RequestParam String value) {
+        List<ContactOwner> owners = contactService.findOwners(type, value);
+        return ResponseEntity.ok(owners);
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Contact> updateContact(@PathVariable Long id, @RequestBody Contact contact) {
+    public ResponseEntity<ContactResponse> updateContact(@PathVariable Long id, @RequestBody Contact contact,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Contact updatedContact = contactService.updateContact(id, contact);
-            return ResponseEntity.ok(updatedContact);
+            Contact updatedContact = contactService.updateContact(id, contact, ETags.parseVersion(ifMatch));
+            return ResponseEntity.ok()
+                .eTag(ETags.of(updatedContact.getVersion()))
+                .body(ContactResponse.from(updatedContact));
+        } catch (OptimisticLockingFailureException e) {
+            return CustomerController.conflict(ifMatch);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -1,71 +1,252 @@
 package com.example.customercontactapp.controller;
 
+import com.example.customercontactapp.dto.BulkDeleteResult;
+import com.example.customercontactapp.dto.BulkImportResult;
+import com.example.customercontactapp.dto.CustomerContactCount;
+import com.example.customercontactapp.dto.CustomerPatch;
+import com.example.customercontactapp.dto.CustomerResponse;
+import com.example.customercontactapp.dto.CustomerSearchHit;
+import com.example.customercontactapp.dto.CustomerSummary;
+import com.example.customercontactapp.dto.CustomerVersion;
+import com.example.customercontactapp.entity.ContactType;
 import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.service.CustomerImportService;
 import com.example.customercontactapp.service.CustomerService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 
-import lombok.extern.slf4j.Slf4j;
-
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
-@Slf4j
 @RestController
 @RequestMapping("/api/customers")
 public class CustomerController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NEXT_PAGE_HEADER = "X-Next-Page";
+    private static final int MAX_PAGE_SIZE = 1000;
+    // deepest search result served, relevance paging past it gets too expensive
+    private static final int MAX_SEARCH_WINDOW = 10000;
     
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
+    private final ObjectWriter ndjsonWriter;
+    private final int streamChunkSize;
     
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, CustomerImportService customerImportService,
+                              JsonMapper jsonMapper, @Value("${app.list-stream.chunk-size:500}") int streamChunkSize) {
         this.customerService = customerService;
+        this.customerImportService = customerImportService;
+        this.streamChunkSize = streamChunkSize;
+        // the mapper of the HTTP responses, so the stream gets the same serializers as the JSON endpoints
+        this.ndjsonWriter = jsonMapper.writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET);
     }
     
     @PostMapping
-    public ResponseEntity<Customer> createCustomer(@RequestBody Customer customer) {
+    public ResponseEntity<CustomerResponse> createCustomer(@RequestBody Customer customer) {
         Customer createdCustomer = customerService.createCustomer(customer);
-        return new ResponseEntity<>(createdCustomer, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .eTag(ETags.of(createdCustomer.getVersion(), createdCustomer.getContactsVersion()))
+            .body(CustomerResponse.from(createdCustomer));
+    }
+
+    // A malformed body answers 400 with what was committed before the error, so the client
+    // knows which rows not to send again.
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResult> importCustomers(InputStream body) {
+        BulkImportResult result = customerImportService.importCustomers(body);
+        return result.error() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
     }
     
+    // The id page settles the cursor header up front, the customers and their contacts are then
+    // read in chunks of ids while the array is written out.
     @GetMapping
-    public ResponseEntity<List<Customer>> getAllCustomers() {
-        List<Customer> customers = customerService.getAllCustomers();
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<Iterable<CustomerResponse>> getAllCustomers(@RequestParam(defaultValue = "0") Long afterId,
+                                                                      @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // one extra id tells us whether there is a next page
+        List<Long> ids = customerService.getCustomerIdsAfter(afterId, pageSize + 1);
+        Iterable<CustomerResponse> page = Chunked.byKeys(ids.subList(0, Math.min(ids.size(), pageSize)),
+            streamChunkSize, customerService::getCustomerResponsesByIds);
+        if (ids.size() <= pageSize) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok()
+            .header(NEXT_CURSOR_HEADER, String.valueOf(ids.get(pageSize - 1)))
+            .body(page);
+    }
+
+    @GetMapping("/stats/contact-counts")
+    public ResponseEntity<List<CustomerContactCount>> getContactCounts(@RequestParam(defaultValue = "0") Long afterId,
+                                                                       @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return keysetPage(customerService.getContactCountsAfter(afterId, pageSize + 1), pageSize, CustomerContactCount::id);
+    }
+
+    @GetMapping("/stats/without-contact-type")
+    public ResponseEntity<List<CustomerSummary>> getCustomersWithoutContactType(
+            @RequestParam(defaultValue = "EMAIL") ContactType type,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return keysetPage(customerService.getCustomersWithoutContactTypeAfter(type, afterId, pageSize + 1), pageSize,
+            CustomerSummary::id);
+    }
+
+    // rows were fetched with one extra to tell whether there is a next page
+    private static <T> ResponseEntity<List<T>> keysetPage(List<T> rows, int pageSize, Function<T, Long> id) {
+        if (rows.size() <= pageSize) {
+            return ResponseEntity.ok(rows);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return ResponseEntity.ok()
+            .header(NEXT_CURSOR_HEADER, String.valueOf(id.apply(page.get(pageSize - 1))))
+            .body(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerSearchHit>> searchCustomers(@RequestParam String q,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        if (q.isBlank() || page < 0 || (long) (page + 1) * pageSize > MAX_SEARCH_WINDOW) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<CustomerSearchHit> hits = customerService.searchCustomers(q, page * pageSize, pageSize + 1);
+        if (hits.size() <= pageSize) {
+            return ResponseEntity.ok(hits);
+        }
+        return ResponseEntity.ok()
+            .header(NEXT_PAGE_HEADER, String.valueOf(page + 1))
+            .body(hits.subList(0, pageSize));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers() {
+        StreamingResponseBody body = out -> customerService.streamCustomerResponses(customer -> {
+            try {
+                ndjsonWriter.writeValue(out, customer);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
     }
     
+    // A client holding the current version gets 304 after a single version query, the
+    // customer and its contacts are only loaded for a full response. Its ETag takes the
+    // customer's version from the body, which may be newer than the version query when a write
+    // came in between; an older contacts part only costs the client a full response next time.
     @GetMapping("/{id}")
-    public ResponseEntity<Customer> getCustomerById(@PathVariable Long id) {
-        return customerService.getCustomerById(id)
-            .map(ResponseEntity::ok)
+    public ResponseEntity<CustomerResponse> getCustomerById(@PathVariable Long id, HttpServletRequest request) {
+        Optional<CustomerVersion> version = customerService.getCustomerVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = ETags.of(version.get().version(), version.get().contactsVersion());
+        if (ETags.notModified(request, eTag, version.get().lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .lastModified(version.get().lastModified())
+                .build();
+        }
+        return customerService.getCustomerResponseById(id)
+            .map(customer -> ResponseEntity.ok()
+                .eTag(ETags.of(customer.version(), version.get().contactsVersion()))
+                .lastModified(version.get().lastModified())
+                .body(customer))
             .orElse(ResponseEntity.notFound().build());
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Customer> updateCustomer(@PathVariable Long id, @RequestBody Customer customer) {
+    public ResponseEntity<CustomerResponse> updateCustomer(@PathVariable Long id, @RequestBody Customer customer,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            customer.getContacts().forEach(c -> log.info(">> contact: {}", c.getContactInfo()));
-            Customer updatedCustomer = customerService.updateCustomer(id, customer);
-            return ResponseEntity.ok(updatedCustomer);
-        } catch (RuntimeException e) {
+            Customer updatedCustomer = customerService.updateCustomer(id, customer, ETags.parseVersion(ifMatch));
+            return ResponseEntity.ok()
+                .eTag(ETags.of(updatedCustomer.getVersion(), updatedCustomer.getContactsVersion()))
+                .body(CustomerResponse.from(updatedCustomer));
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(ifMatch);
+        } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     @PutMapping("/{id}/with-contacts")
-    public ResponseEntity<Customer> updateCustomerWithContacts(@PathVariable Long id, @RequestBody Customer customer) {
+    public ResponseEntity<CustomerResponse> updateCustomerWithContacts(@PathVariable Long id, @RequestBody Customer customer,
+                                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            customer.getContacts().forEach(c -> log.info(">> contact:{}", c.getContactInfo()));
-                      
-            Customer updatedCustomer = customerService.updateCustomerWithContacts(id, customer);
-            return ResponseEntity.ok(updatedCustomer);
-        } catch (RuntimeException e) {
+            Customer updatedCustomer = customerService.updateCustomerWithContacts(id, customer, ETags.parseVersion(ifMatch));
+            return ResponseEntity.ok()
+                .eTag(ETags.of(updatedCustomer.getVersion(), updatedCustomer.getContactsVersion()))
+                .body(CustomerResponse.from(updatedCustomer));
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(ifMatch);
+        } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }    
     
+    // Applies only the fields present in the body with a single UPDATE. The new tag is only known
+    // without a read when If-Match supplied the old one; its contacts part may be older than the
+    // row by then, which only costs the client a full response on its next revalidation.
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchCustomer(@PathVariable Long id, @RequestBody CustomerPatch patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.parseVersion(ifMatch);
+        try {
+            customerService.patchCustomer(id, patch, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(ifMatch);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        Long contactsVersion = ETags.parseContactsVersion(ifMatch);
+        if (expectedVersion != null && contactsVersion != null) {
+            response.eTag(ETags.of(expectedVersion + 1, contactsVersion));
+        }
+        return response.build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCustomer(@PathVariable Long id) {
         customerService.deleteCustomer(id);
         return ResponseEntity.noContent().build();
     }
+
+    // ids in the body, a long list does not fit a query string
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkDeleteResult> deleteCustomers(@RequestBody List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_PAGE_SIZE || ids.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int deleted = customerService.deleteCustomers(ids);
+        return ResponseEntity.ok(new BulkDeleteResult(ids.size(), deleted));
+    }
+
+    // a stale If-Match is a failed precondition, a blind write that kept losing is a conflict
+    static <T> ResponseEntity<T> conflict(String ifMatch) {
+        return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.example.customercontactapp.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Enumeration;
+
+// Entity versions as strong ETags: version 3 is sent as "3" and expected back in If-Match.
+// A customer's tag also covers its contacts, "3.7" is customer version 3 with contacts version 7,
+// and a precondition on a customer write only compares the number before the dot.
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(Long version, Long contactsVersion) {
+        return "\"" + version + "." + contactsVersion + "\"";
+    }
+
+    // null when there is no precondition; an unparseable tag can never match, so it maps to -1
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = opaque(ifMatch);
+        int dot = tag.indexOf('.');
+        try {
+            return Long.valueOf(dot < 0 ? tag : tag.substring(0, dot));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // the part after the dot of a customer tag, null when there is none
+    static Long parseContactsVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = opaque(ifMatch);
+        int dot = tag.indexOf('.');
+        try {
+            return dot < 0 ? null : Long.valueOf(tag.substring(dot + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Answers If-None-Match / If-Modified-Since from the validators alone, before anything else is
+    // read. If-None-Match wins when both are sent, If-Modified-Since has second precision.
+    static boolean notModified(HttpServletRequest request, String eTag, Instant lastModified) {
+        Enumeration<String> ifNoneMatch = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch.hasMoreElements()) {
+            for (String header : Collections.list(ifNoneMatch)) {
+                for (String tag : header.split(",")) {
+                    if (tag.trim().equals("*") || opaque(tag).equals(opaque(eTag))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince != -1 && lastModified.getEpochSecond() * 1000 <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // weak comparison, as If-None-Match uses
+    private static String opaque(String tag) {
+        String opaque = tag.trim();
+        if (opaque.startsWith("W/")) {
+            opaque = opaque.substring(2);
+        }
+        return opaque.replace("\"", "");
+    }
+}
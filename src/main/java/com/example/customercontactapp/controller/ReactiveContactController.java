@@ -0,0 +1,62 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.service.ReactiveContactService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC backed mirror of ContactController, list endpoints stream NDJSON
+@RestController
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@RequestMapping("/api/reactive/contacts")
+public class ReactiveContactController {
+
+    private final ReactiveContactService contactService;
+
+    public ReactiveContactController(ReactiveContactService contactService) {
+        this.contactService = contactService;
+    }
+
+    @PostMapping("/customer/{customerId}")
+    public Mono<ResponseEntity<ContactResponse>> createContact(@PathVariable Long customerId, @RequestBody Contact contact) {
+        return contactService.createContact(customerId, contact)
+            .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED))
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ContactResponse> getAllContacts() {
+        return contactService.getAllContacts();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ContactResponse>> getContactById(@PathVariable Long id) {
+        return contactService.getContactById(id)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/customer/{customerId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ContactResponse> getContactsByCustomerId(@PathVariable Long customerId) {
+        return contactService.getContactsByCustomerId(customerId);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ContactResponse>> updateContact(@PathVariable Long id, @RequestBody Contact contact) {
+        return contactService.updateContact(id, contact)
+            .map(ResponseEntity::ok)
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteContact(@PathVariable Long id) {
+        return contactService.deleteContact(id)
+            .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
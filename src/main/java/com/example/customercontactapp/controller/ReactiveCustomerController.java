@@ -0,0 +1,57 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.dto.CustomerResponse;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.service.ReactiveCustomerService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC backed mirror of CustomerController. Request threads are released while the
+// database works, and the list endpoint streams NDJSON at the pace the client reads it.
+@RestController
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@RequestMapping("/api/reactive/customers")
+public class ReactiveCustomerController {
+
+    private final ReactiveCustomerService customerService;
+
+    public ReactiveCustomerController(ReactiveCustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<CustomerResponse>> createCustomer(@RequestBody Customer customer) {
+        return customerService.createCustomer(customer)
+            .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerResponse> streamCustomers(@RequestParam(defaultValue = "0") Long afterId) {
+        return customerService.streamCustomers(afterId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<CustomerResponse>> getCustomerById(@PathVariable Long id) {
+        return customerService.getCustomerById(id)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<CustomerResponse>> updateCustomer(@PathVariable Long id, @RequestBody Customer customer) {
+        return customerService.updateCustomer(id, customer)
+            .map(ResponseEntity::ok)
+            .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteCustomer(@PathVariable Long id) {
+        return customerService.deleteCustomer(id)
+            .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
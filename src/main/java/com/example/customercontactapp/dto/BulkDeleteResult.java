@@ -0,0 +1,4 @@
+package com.example.customercontactapp.dto;
+
+public record BulkDeleteResult(int requested, int deleted) {
+}
@@ -0,0 +1,20 @@
+package com.example.customercontactapp.dto;
+
+import java.util.List;
+
+// error is set when the body could not be read to the end; the chunks listed were committed anyway
+public record BulkImportResult(int imported, int failed, List<ChunkResult> chunks, String error) {
+
+    public record ChunkResult(int chunk, int imported, int failed) {
+    }
+
+    public static BulkImportResult of(List<ChunkResult> chunks) {
+        return of(chunks, null);
+    }
+
+    public static BulkImportResult of(List<ChunkResult> chunks, String error) {
+        int imported = chunks.stream().mapToInt(ChunkResult::imported).sum();
+        int failed = chunks.stream().mapToInt(ChunkResult::failed).sum();
+        return new BulkImportResult(imported, failed, chunks, error);
+    }
+}
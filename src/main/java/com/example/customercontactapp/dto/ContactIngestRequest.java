@@ -0,0 +1,7 @@
+package com.example.customercontactapp.dto;
+
+import com.example.customercontactapp.entity.ContactType;
+
+// One queued contact write: an insert when id is null, otherwise an update of that contact
+public record ContactIngestRequest(Long id, Long customerId, ContactType contactType, String contactInfo) {
+}
@@ -0,0 +1,7 @@
+package com.example.customercontactapp.dto;
+
+import java.util.List;
+
+// ids follow the request order, null for a write that failed; empty unless the commit was awaited
+public record ContactIngestResult(int accepted, int committed, int failed, List<Long> ids) {
+}
@@ -0,0 +1,7 @@
+package com.example.customercontactapp.dto;
+
+import com.example.customercontactapp.entity.ContactType;
+
+// what has to be evicted for a contact removed outside the session
+public record ContactKey(Long contactId, ContactType contactType, String normalizedInfo) {
+}
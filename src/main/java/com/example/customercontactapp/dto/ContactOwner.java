@@ -0,0 +1,6 @@
+package com.example.customercontactapp.dto;
+
+import com.example.customercontactapp.entity.ContactType;
+
+public record ContactOwner(Long customerId, Long contactId, ContactType contactType, String contactInfo) {
+}
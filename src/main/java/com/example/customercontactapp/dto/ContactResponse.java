@@ -0,0 +1,12 @@
+package com.example.customercontactapp.dto;
+
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+
+public record ContactResponse(Long id, ContactType contactType, String contactInfo, Long version) {
+
+    public static ContactResponse from(Contact contact) {
+        return new ContactResponse(contact.getId(), contact.getContactType(), contact.getContactInfo(),
+            contact.getVersion());
+    }
+}
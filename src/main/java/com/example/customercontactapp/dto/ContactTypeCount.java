@@ -0,0 +1,6 @@
+package com.example.customercontactapp.dto;
+
+import com.example.customercontactapp.entity.ContactType;
+
+public record ContactTypeCount(ContactType contactType, long count) {
+}
@@ -0,0 +1,4 @@
+package com.example.customercontactapp.dto;
+
+public record CustomerContactCount(Long id, String name, long contacts) {
+}
@@ -0,0 +1,8 @@
+package com.example.customercontactapp.dto;
+
+import com.example.customercontactapp.entity.ContactType;
+
+// one row of customers left join contacts, contact columns are null for a customer without contacts
+public record CustomerContactRow(Long customerId, String customerName, Long customerVersion, Long contactId,
+                                 ContactType contactType, String contactInfo, Long contactVersion) {
+}
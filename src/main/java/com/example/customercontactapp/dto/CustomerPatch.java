@@ -0,0 +1,5 @@
+package com.example.customercontactapp.dto;
+
+// Body of PATCH /api/customers/{id}, a null field is left unchanged
+public record CustomerPatch(String name) {
+}
@@ -0,0 +1,23 @@
+package com.example.customercontactapp.dto;
+
+import com.example.customercontactapp.entity.Customer;
+
+import java.util.List;
+
+public record CustomerResponse(Long id, String name, Long version, List<ContactResponse> contacts) {
+
+    public static CustomerResponse from(Customer customer) {
+        return new CustomerResponse(customer.getId(), customer.getName(), customer.getVersion(),
+            customer.getContacts().stream().map(ContactResponse::from).toList());
+    }
+
+    // rows of a single customer, as returned by the customers left join contacts projections
+    public static CustomerResponse of(List<CustomerContactRow> rows) {
+        CustomerContactRow first = rows.get(0);
+        List<ContactResponse> contacts = rows.stream()
+            .filter(row -> row.contactId() != null)
+            .map(row -> new ContactResponse(row.contactId(), row.contactType(), row.contactInfo(), row.contactVersion()))
+            .toList();
+        return new CustomerResponse(first.customerId(), first.customerName(), first.customerVersion(), contacts);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.customercontactapp.dto;
+
+public record CustomerSearchHit(Long id, String name) {
+}
@@ -0,0 +1,4 @@
+package com.example.customercontactapp.dto;
+
+public record CustomerSummary(Long id, String name) {
+}
@@ -0,0 +1,7 @@
+package com.example.customercontactapp.dto;
+
+import java.time.Instant;
+
+// Validators of a customer aggregate, enough to answer a conditional GET
+public record CustomerVersion(Long version, Long contactsVersion, Instant lastModified) {
+}
@@ -3,19 +3,31 @@ package com.example.customercontactapp.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "contacts")
+@Table(name = "contacts", indexes = {
+    @Index(name = "idx_contacts_type_info", columnList = "contact_type, contact_info"),
+    @Index(name = "idx_contacts_type_normalized", columnList = "contact_type, normalized_info")})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contacts")
 public class Contact {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contacts_seq")
+    @SequenceGenerator(name = "contacts_seq", sequenceName = "contacts_seq", allocationSize = 50)
     private Long id;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ContactType contactType;
     
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "customer_id", nullable = false)
+    @JsonIgnore
+    private Customer customer;
+    
     @Column(name = "customer_id", nullable = false, insertable = false, updatable = false)
     @JsonIgnore
     private Long customerId;
@@ -23,11 +35,22 @@ public class Contact {
     @Column(nullable = false)
     private String contactInfo;
     
+    @Version
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long version;
+    
+    // contactInfo in the canonical form of its type, backs the reverse lookup
+    @Column(nullable = false)
+    @JsonIgnore
+    private String normalizedInfo;
+    
     public Contact() {}
     
     public Contact(Long customerId, ContactType contactType, String contactInfo) {
         this.contactType = contactType;
         this.contactInfo = contactInfo;
+        updateNormalizedInfo();
     }
     
     public Long getId() {
@@ -44,6 +67,15 @@ public class Contact {
     
     public void setContactType(ContactType contactType) {
         this.contactType = contactType;
+        updateNormalizedInfo();
+    }
+    
+    public Customer getCustomer() {
+        return customer;
+    }
+    
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
     }
     
     public Long getCustomerId() {
@@ -60,5 +92,18 @@ public class Contact {
     
     public void setContactInfo(String contactInfo) {
         this.contactInfo = contactInfo;
+        updateNormalizedInfo();
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public String getNormalizedInfo() {
+        return normalizedInfo;
+    }
+    
+    private void updateNormalizedInfo() {
+        this.normalizedInfo = contactType != null ? contactType.normalize(contactInfo) : null;
     }
 }
\ No newline at end of file
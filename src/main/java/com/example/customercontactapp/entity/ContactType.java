@@ -1,7 +1,20 @@
 package com.example.customercontactapp.entity;
 
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 public enum ContactType {
     PHONE,
     HOME,
-    EMAIL
+    EMAIL;
+
+    private static final Pattern NON_DIGITS = Pattern.compile("[^0-9]");
+
+    // digits only for phone numbers, trimmed lower case otherwise; V4 migration mirrors this
+    public String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        return this == PHONE ? NON_DIGITS.matcher(value).replaceAll("") : value.trim().toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
@@ -1,22 +1,46 @@
 package com.example.customercontactapp.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = @Index(name = "idx_customers_name", columnList = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customers")
 public class Customer {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
     private String name;
     
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "customer_id", nullable = false)
+    // Optimistic lock of the customer's own fields. Clients send it back through If-Match rather
+    // than in the body.
+    @Version
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long version;
+    
+    // Contact writes move this one with a single UPDATE instead of locking and touching the
+    // customer, so they never fail a customer If-Match. The ETag of the aggregate carries both.
+    @Column(name = "contacts_version", nullable = false)
+    @JsonIgnore
+    private Long contactsVersion = 0L;
+    
+    @Column(name = "last_modified", nullable = false)
+    @JsonIgnore
+    private Instant lastModified;
+    
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customers.contacts")
+    @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Contact> contacts = new ArrayList<>();
     
     public Customer() {}
@@ -41,15 +65,43 @@ public class Customer {
         this.name = name;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public Long getContactsVersion() {
+        return contactsVersion;
+    }
+    
+    public Instant getLastModified() {
+        return lastModified;
+    }
+    
+    // contacts changed through this customer's collection, the flush writes the new contacts version
+    public void touch() {
+        contactsVersion = contactsVersion + 1;
+        lastModified = Instant.now();
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void updateLastModified() {
+        lastModified = Instant.now();
+    }
+    
     public List<Contact> getContacts() {
         return contacts;
     }
     
     public void setContacts(List<Contact> contacts) {
         this.contacts = contacts;
+        if (contacts != null) {
+            contacts.forEach(contact -> contact.setCustomer(this));
+        }
     }
     
     public void addContact(Contact contact) {
+        contact.setCustomer(this);
         this.contacts.add(contact);
     }
 }
\ No newline at end of file
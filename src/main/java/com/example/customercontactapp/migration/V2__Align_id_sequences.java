@@ -0,0 +1,30 @@
+package com.example.customercontactapp.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+// custcontdb files created by ddl-auto are baselined at V1 and may carry ids handed out by
+// the former IDENTITY columns, so the sequences have to start past them
+public class V2__Align_id_sequences extends BaseJavaMigration {
+
+    private static final List<String> TABLES = List.of("customers", "contacts");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long nextId;
+                try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                    result.next();
+                    nextId = result.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + table + "_seq START WITH " + nextId + " INCREMENT BY 50");
+                statement.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + nextId);
+            }
+        }
+    }
+}
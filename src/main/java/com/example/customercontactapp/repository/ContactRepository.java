@@ -1,11 +1,68 @@
 package com.example.customercontactapp.repository;
 
+import com.example.customercontactapp.dto.ContactKey;
+import com.example.customercontactapp.dto.ContactOwner;
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.dto.ContactTypeCount;
 import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ContactRepository extends JpaRepository<Contact, Long> {
+
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "contacts-by-customer"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")})
     List<Contact> findByCustomerId(Long customerId);
+
+    @Query("""
+        select new com.example.customercontactapp.dto.ContactOwner(c.customerId, c.id, c.contactType, c.contactInfo)
+        from Contact c
+        where c.contactType = :type and c.normalizedInfo = :normalizedInfo
+        """)
+    List<ContactOwner> findOwners(@Param("type") ContactType type, @Param("normalizedInfo") String normalizedInfo);
+
+    // keyset chunks of the whole table, each one an index range scan on the primary key
+    @Query("select new com.example.customercontactapp.dto.ContactResponse(c.id, c.contactType, c.contactInfo, c.version) from Contact c where c.id > :afterId order by c.id")
+    List<ContactResponse> findResponsesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.example.customercontactapp.dto.ContactResponse(c.id, c.contactType, c.contactInfo, c.version) from Contact c where c.id = :id")
+    Optional<ContactResponse> findResponseById(@Param("id") Long id);
+
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "contacts-by-customer")})
+    @Query("select new com.example.customercontactapp.dto.ContactResponse(c.id, c.contactType, c.contactInfo, c.version) from Contact c where c.customerId = :customerId order by c.id")
+    List<ContactResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    // counted in the database; query cache entries are dropped on any contacts write and expire quickly
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "contact-stats")})
+    @Query("""
+        select new com.example.customercontactapp.dto.ContactTypeCount(c.contactType, count(c))
+        from Contact c
+        group by c.contactType
+        order by c.contactType
+        """)
+    List<ContactTypeCount> countByContactType();
+
+    // what the eviction after a bulk delete of the customers needs, read before the rows are gone
+    @Query("""
+        select new com.example.customercontactapp.dto.ContactKey(c.id, c.contactType, c.normalizedInfo)
+        from Contact c
+        where c.customerId in :customerIds
+        """)
+    List<ContactKey> findKeysByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.customercontactapp.repository;
+
+import java.util.Collection;
+
+public interface CustomerDeleteOperations {
+
+    // the customers and their contacts, one DELETE each; returns the number of customers deleted
+    int deleteAllByIds(Collection<Long> ids);
+}
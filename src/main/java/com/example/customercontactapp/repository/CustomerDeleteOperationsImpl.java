@@ -0,0 +1,36 @@
+package com.example.customercontactapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+import java.util.Collection;
+
+// Native deletes synchronized on a space no entity maps to, like the patch: a JPQL bulk delete
+// would evict the whole customers, customers.contacts and contacts regions. The caller evicts
+// the deleted rows after commit (ExternalWriteSync.customersDeleted).
+class CustomerDeleteOperationsImpl implements CustomerDeleteOperations {
+
+    private static final String DELETE_QUERY_SPACE = "customers_delete";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int deleteAllByIds(Collection<Long> ids) {
+        entityManager.flush();
+        // bypasses the contacts cascade, their rows go first
+        delete("DELETE FROM contacts WHERE customer_id IN (:ids)", ids);
+        int deleted = delete("DELETE FROM customers WHERE id IN (:ids)", ids);
+        entityManager.clear();
+        return deleted;
+    }
+
+    private int delete(String sql, Collection<Long> ids) {
+        return entityManager.createNativeQuery(sql)
+            .setParameter("ids", ids)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(DELETE_QUERY_SPACE)
+            .executeUpdate();
+    }
+}
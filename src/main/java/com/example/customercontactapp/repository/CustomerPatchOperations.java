@@ -0,0 +1,14 @@
+package com.example.customercontactapp.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface CustomerPatchOperations {
+
+    // single UPDATE, null fields keep their value; the version is only compared when one is expected
+    int patch(Long id, String name, Long expectedVersion, Instant now);
+
+    // Moves the contacts version and last_modified of the customers with one UPDATE, nothing is
+    // read or locked ahead of it. Returns the number of customers found.
+    int touchContacts(Collection<Long> ids, Instant now);
+}
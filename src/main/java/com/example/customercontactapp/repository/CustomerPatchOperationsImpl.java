@@ -0,0 +1,61 @@
+package com.example.customercontactapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.time.Instant;
+import java.util.Collection;
+
+// A JPQL update, or a native one without query spaces, makes Hibernate evict the whole customers
+// and customers.contacts regions when it runs. These are synchronized on a space no entity maps
+// to, so no region is touched and the caller evicts the rows after commit
+// (ExternalWriteSync.customerPatched, customersTouched).
+class CustomerPatchOperationsImpl implements CustomerPatchOperations {
+
+    private static final String PATCH_QUERY_SPACE = "customers_patch";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int patch(Long id, String name, Long expectedVersion, Instant now) {
+        String sql = "UPDATE customers SET "
+            + (name != null ? "name = :name, " : "")
+            + "version = version + 1, last_modified = :now WHERE id = :id"
+            + (expectedVersion != null ? " AND version = :expectedVersion" : "");
+        Query query = entityManager.createNativeQuery(sql)
+            .setParameter("now", now)
+            .setParameter("id", id);
+        if (name != null) {
+            query.setParameter("name", name);
+        }
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(PATCH_QUERY_SPACE);
+
+        // pending changes go out first, managed copies of the row are stale afterwards
+        entityManager.flush();
+        int updated = query.executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    // The session is left alone, callers do not load the customer. A managed copy flushed later
+    // would write back its loaded contacts version, but its own version moves with it, so the
+    // aggregate's ETag is still one that was never sent before.
+    @Override
+    public int touchContacts(Collection<Long> ids, Instant now) {
+        return entityManager.createNativeQuery("""
+                UPDATE customers SET contacts_version = contacts_version + 1, last_modified = :now
+                WHERE id IN (:ids)
+                """)
+            .setParameter("now", now)
+            .setParameter("ids", ids)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(PATCH_QUERY_SPACE)
+            .executeUpdate();
+    }
+}
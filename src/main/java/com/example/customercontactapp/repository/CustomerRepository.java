@@ -1,9 +1,85 @@
 package com.example.customercontactapp.repository;
 
+import com.example.customercontactapp.dto.CustomerContactCount;
+import com.example.customercontactapp.dto.CustomerContactRow;
+import com.example.customercontactapp.dto.CustomerSearchHit;
+import com.example.customercontactapp.dto.CustomerSummary;
+import com.example.customercontactapp.dto.CustomerVersion;
+import com.example.customercontactapp.entity.ContactType;
 import com.example.customercontactapp.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerPatchOperations,
+        CustomerDeleteOperations {
+
+    @Query("select c.id from Customer c where c.id > :afterId order by c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // three columns by primary key, what a conditional GET needs before anything else is read
+    @Query("select new com.example.customercontactapp.dto.CustomerVersion(c.version, c.contactsVersion, c.lastModified) from Customer c where c.id = :id")
+    Optional<CustomerVersion> findVersionById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "contacts")
+    Optional<Customer> findWithContactsById(Long id);
+
+    // keyset pages of aggregates, grouped in the database
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "contact-stats")})
+    @Query("""
+        select new com.example.customercontactapp.dto.CustomerContactCount(cu.id, cu.name, count(co.id))
+        from Customer cu left join cu.contacts co
+        where cu.id > :afterId
+        group by cu.id, cu.name
+        order by cu.id
+        """)
+    List<CustomerContactCount> countContactsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "contact-stats")})
+    @Query("""
+        select new com.example.customercontactapp.dto.CustomerSummary(cu.id, cu.name)
+        from Customer cu
+        where cu.id > :afterId
+          and not exists (select 1 from Contact co where co.customerId = cu.id and co.contactType = :type)
+        order by cu.id
+        """)
+    List<CustomerSummary> findWithoutContactTypeAfter(@Param("type") ContactType type, @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new com.example.customercontactapp.dto.CustomerSearchHit(c.id, c.name) from Customer c")
+    Stream<CustomerSearchHit> streamNames();
+
+    // read-only projections, no managed entities or snapshots are created
+    @Query("""
+        select new com.example.customercontactapp.dto.CustomerContactRow(
+            cu.id, cu.name, cu.version, co.id, co.contactType, co.contactInfo, co.version)
+        from Customer cu left join cu.contacts co
+        where cu.id in :ids
+        order by cu.id, co.id
+        """)
+    List<CustomerContactRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("""
+        select new com.example.customercontactapp.dto.CustomerContactRow(
+            cu.id, cu.name, cu.version, co.id, co.contactType, co.contactInfo, co.version)
+        from Customer cu left join cu.contacts co
+        order by cu.id, co.id
+        """)
+    Stream<CustomerContactRow> streamRows();
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.example.customercontactapp.repository;
+
+import com.example.customercontactapp.dto.ContactKey;
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.entity.ContactType;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of ContactRepository, on the schema owned by the Flyway migrations
+@Repository
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveContactRepository {
+
+    private static final String SELECT_CONTACTS = "SELECT id, contact_type, contact_info, version FROM contacts ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveContactRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<ContactResponse> findAll() {
+        return databaseClient.sql(SELECT_CONTACTS + "ORDER BY id")
+            .map(ReactiveContactRepository::toResponse)
+            .all();
+    }
+
+    public Mono<ContactResponse> findById(Long id) {
+        return databaseClient.sql(SELECT_CONTACTS + "WHERE id = :id")
+            .bind("id", id)
+            .map(ReactiveContactRepository::toResponse)
+            .one();
+    }
+
+    public Flux<ContactResponse> findByCustomerId(Long customerId) {
+        return databaseClient.sql(SELECT_CONTACTS + "WHERE customer_id = :customerId ORDER BY id")
+            .bind("customerId", customerId)
+            .map(ReactiveContactRepository::toResponse)
+            .all();
+    }
+
+    public Mono<Long> findCustomerId(Long id) {
+        return databaseClient.sql("SELECT customer_id FROM contacts WHERE id = :id")
+            .bind("id", id)
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+
+    // what the caches need to drop once the customer's contacts are deleted
+    public Flux<ContactKey> findKeysByCustomerId(Long customerId) {
+        return databaseClient.sql("SELECT id, contact_type, normalized_info FROM contacts WHERE customer_id = :customerId")
+            .bind("customerId", customerId)
+            .map(row -> new ContactKey(row.get("id", Long.class), ContactType.valueOf(row.get("contact_type", String.class)),
+                row.get("normalized_info", String.class)))
+            .all();
+    }
+
+    // one pooled-lo sequence value per contact, see ReactiveCustomerRepository.insert
+    public Mono<Long> insert(Long customerId, ContactType contactType, String contactInfo) {
+        return databaseClient.sql("SELECT NEXT VALUE FOR contacts_seq")
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .flatMap(id -> databaseClient.sql("""
+                    INSERT INTO contacts (id, contact_type, contact_info, normalized_info, customer_id)
+                    VALUES (:id, :contactType, :contactInfo, :normalizedInfo, :customerId)
+                    """)
+                .bind("id", id)
+                .bind("contactType", contactType.name())
+                .bind("contactInfo", contactInfo)
+                .bind("normalizedInfo", contactType.normalize(contactInfo))
+                .bind("customerId", customerId)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(id));
+    }
+
+    public Mono<Long> update(Long id, ContactType contactType, String contactInfo) {
+        return databaseClient.sql("""
+                UPDATE contacts SET contact_type = :contactType, contact_info = :contactInfo,
+                                    normalized_info = :normalizedInfo, version = version + 1
+                WHERE id = :id
+                """)
+            .bind("id", id)
+            .bind("contactType", contactType.name())
+            .bind("contactInfo", contactInfo)
+            .bind("normalizedInfo", contactType.normalize(contactInfo))
+            .fetch()
+            .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM contacts WHERE id = :id")
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    private static ContactResponse toResponse(Readable row) {
+        return new ContactResponse(row.get("id", Long.class), ContactType.valueOf(row.get("contact_type", String.class)),
+            row.get("contact_info", String.class), row.get("version", Long.class));
+    }
+}
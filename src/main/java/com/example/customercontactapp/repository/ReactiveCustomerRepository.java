@@ -0,0 +1,103 @@
+package com.example.customercontactapp.repository;
+
+import com.example.customercontactapp.dto.CustomerContactRow;
+import com.example.customercontactapp.entity.ContactType;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of CustomerRepository, on the schema owned by the Flyway migrations
+@Repository
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveCustomerRepository {
+
+    private static final String SELECT_ROWS = """
+        SELECT cu.id AS customer_id, cu.name AS customer_name, cu.version AS customer_version,
+               co.id AS contact_id, co.contact_type, co.contact_info, co.version AS contact_version
+        FROM customers cu LEFT JOIN contacts co ON co.customer_id = cu.id
+        """;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCustomerRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // rows come ordered by customer, rows of one customer are adjacent
+    public Flux<CustomerContactRow> findRowsAfter(Long afterId) {
+        return databaseClient.sql(SELECT_ROWS + "WHERE cu.id > :afterId ORDER BY cu.id, co.id")
+            .bind("afterId", afterId)
+            .map(ReactiveCustomerRepository::toRow)
+            .all();
+    }
+
+    public Flux<CustomerContactRow> findRowsById(Long id) {
+        return databaseClient.sql(SELECT_ROWS + "WHERE cu.id = :id ORDER BY co.id")
+            .bind("id", id)
+            .map(ReactiveCustomerRepository::toRow)
+            .all();
+    }
+
+    // contact writes change the aggregate, as CustomerRepository.touchContacts does on the JPA side
+    public Mono<Long> touch(Long id) {
+        return databaseClient.sql("UPDATE customers SET contacts_version = contacts_version + 1, last_modified = CURRENT_TIMESTAMP WHERE id = :id")
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT COUNT(*) FROM customers WHERE id = :id")
+            .bind("id", id)
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .map(count -> count > 0);
+    }
+
+    // Takes one value from the pooled-lo sequence and uses only its first id. Hibernate treats
+    // each sequence value as the start of a block of allocationSize ids, so the two never collide.
+    public Mono<Long> insert(String name) {
+        return databaseClient.sql("SELECT NEXT VALUE FOR customers_seq")
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .flatMap(id -> databaseClient.sql("INSERT INTO customers (id, name) VALUES (:id, :name)")
+                .bind("id", id)
+                .bind("name", name)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(id));
+    }
+
+    public Mono<Long> updateName(Long id, String name) {
+        return databaseClient.sql("""
+                UPDATE customers SET name = :name, version = version + 1, last_modified = CURRENT_TIMESTAMP
+                WHERE id = :id
+                """)
+            .bind("id", id)
+            .bind("name", name)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM contacts WHERE customer_id = :id")
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated()
+            .then(databaseClient.sql("DELETE FROM customers WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated());
+    }
+
+    private static CustomerContactRow toRow(Readable row) {
+        String contactType = row.get("contact_type", String.class);
+        return new CustomerContactRow(row.get("customer_id", Long.class), row.get("customer_name", String.class),
+            row.get("customer_version", Long.class), row.get("contact_id", Long.class),
+            contactType != null ? ContactType.valueOf(contactType) : null, row.get("contact_info", String.class),
+            row.get("contact_version", Long.class));
+    }
+}
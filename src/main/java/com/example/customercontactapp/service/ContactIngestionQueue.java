@@ -0,0 +1,200 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.ContactIngestRequest;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.ContactRepository;
+import com.example.customercontactapp.repository.CustomerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Write-behind path for high-rate contact upserts. Requests only enqueue; a single writer thread
+// drains the queue and commits up to max-batch-size writes per transaction, giving a batch at
+// most max-batch-latency to fill. Capacity is reserved per request, so a request is either queued
+// whole or rejected, and the returned futures complete once their batch has committed.
+@Slf4j
+@Component
+public class ContactIngestionQueue {
+
+    public enum Ack { NONE, COMMIT }
+
+    public static class QueueFullException extends RuntimeException {
+        public QueueFullException(int requested) {
+            super("Contact ingestion queue cannot take " + requested + " more writes");
+        }
+    }
+
+    private record PendingWrite(ContactIngestRequest request, CompletableFuture<Long> committed) {
+    }
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final EntityManager entityManager;
+    private final CustomerRepository customerRepository;
+    private final ContactRepository contactRepository;
+    private final ExternalWriteSync externalWriteSync;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final long maxBatchLatencyNanos;
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public ContactIngestionQueue(EntityManager entityManager, CustomerRepository customerRepository,
+                                 ContactRepository contactRepository, ExternalWriteSync externalWriteSync,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${app.contact-ingest.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${app.contact-ingest.max-batch-size:500}") int maxBatchSize,
+                                 @Value("${app.contact-ingest.max-batch-latency:20ms}") Duration maxBatchLatency) {
+        this.entityManager = entityManager;
+        this.customerRepository = customerRepository;
+        this.contactRepository = contactRepository;
+        this.externalWriteSync = externalWriteSync;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = new Semaphore(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchLatencyNanos = maxBatchLatency.toNanos();
+        Gauge.builder("app.contact.ingest.queue", queue, BlockingQueue::size)
+            .description("Contact writes waiting for the ingestion writer")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer = Thread.ofPlatform().name("contact-ingest-writer").daemon(true).start(this::run);
+    }
+
+    // what is still queued at shutdown is written before the persistence beans go away
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public List<CompletableFuture<Long>> submit(List<ContactIngestRequest> requests) {
+        if (!running || !capacity.tryAcquire(requests.size())) {
+            throw new QueueFullException(requests.size());
+        }
+        List<CompletableFuture<Long>> futures = new ArrayList<>(requests.size());
+        for (ContactIngestRequest request : requests) {
+            CompletableFuture<Long> committed = new CompletableFuture<>();
+            queue.add(new PendingWrite(request, committed));
+            futures.add(committed);
+        }
+        return futures;
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxBatchLatencyNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // drain what is left and exit
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                capacity.release(batch.size());
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> persistAll(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).committed().complete(ids.get(i));
+            }
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Contact ingest batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+        }
+
+        // isolate the bad writes so one of them does not fail the whole batch
+        for (PendingWrite write : batch) {
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> persistAll(List.of(write)));
+                write.committed().complete(ids.get(0));
+            } catch (RuntimeException e) {
+                write.committed().completeExceptionally(e);
+            }
+        }
+    }
+
+    private List<Long> persistAll(List<PendingWrite> batch) {
+        Set<Long> customerIds = batch.stream().map(w -> w.request().customerId()).collect(Collectors.toSet());
+        List<Long> contactIds = batch.stream().map(w -> w.request().id()).filter(id -> id != null).toList();
+        Map<Long, Contact> existingContacts = contactRepository.findAllById(contactIds).stream()
+            .collect(Collectors.toMap(Contact::getId, Function.identity()));
+
+        List<Contact> written = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            ContactIngestRequest request = write.request();
+            Contact contact;
+            if (request.id() != null) {
+                contact = existingContacts.get(request.id());
+                if (contact == null || !contact.getCustomerId().equals(request.customerId())) {
+                    throw new RuntimeException("Contact not found with id: " + request.id());
+                }
+                contact.setContactType(request.contactType());
+                contact.setContactInfo(request.contactInfo());
+            } else {
+                contact = new Contact(null, request.contactType(), request.contactInfo());
+                contact.setCustomer(entityManager.getReference(Customer.class, request.customerId()));
+                contact.setCustomerId(request.customerId());
+                entityManager.persist(contact);
+            }
+            written.add(contact);
+        }
+        // one flush per batch, inserts and updates go out as JDBC batches
+        entityManager.flush();
+        // The customers' contacts versions move last, in one UPDATE, so their rows are only locked
+        // from here to the commit. An insert for a missing customer already failed on its foreign key.
+        if (customerRepository.touchContacts(customerIds, Instant.now()) != customerIds.size()) {
+            throw new RuntimeException("Customer not found with id: " + customerIds);
+        }
+        externalWriteSync.afterCommit(() -> externalWriteSync.customersTouched(customerIds));
+        entityManager.clear();
+        return written.stream().map(Contact::getId).toList();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.ContactOwner;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// In-memory (type, normalized value) -> owners map in front of ContactRepository.findOwners.
+// Entries are dropped after every committed contact write, whichever service or cascade made it.
+// Writes that bypass the session (bulk JPQL/SQL) must invalidate the keys they touched, or
+// invalidateAll() when those are not known.
+@Slf4j
+@Component
+public class ContactLookupIndex implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final Cache<LookupKey, List<ContactOwner>> cache;
+    // moved before every eviction, a load that overlaps one does not keep its entry
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ContactLookupIndex(EntityManagerFactory entityManagerFactory,
+                              @Value("${app.contact-lookup.cache-enabled:true}") boolean enabled,
+                              @Value("${app.contact-lookup.cache-size:100000}") long maximumSize) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    public List<ContactOwner> get(ContactType type, String normalizedInfo, Supplier<List<ContactOwner>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        LookupKey key = new LookupKey(type, normalizedInfo);
+        List<ContactOwner> owners = cache.getIfPresent(key);
+        if (owners != null) {
+            return owners;
+        }
+        // loaded outside the cache, a query must not run inside Caffeine's compute. An invalidation
+        // that ran meanwhile may have missed the entry, so it is dropped again: a load that read
+        // pre-commit rows cannot outlive the commit's eviction.
+        long generation = invalidations.get();
+        owners = List.copyOf(loader.get());
+        cache.put(key, owners);
+        if (invalidations.get() != generation) {
+            cache.invalidate(key);
+        }
+        return owners;
+    }
+
+    public void invalidate(ContactType type, String normalizedInfo) {
+        invalidations.incrementAndGet();
+        cache.invalidate(new LookupKey(type, normalizedInfo));
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate((Contact) event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        invalidate((Contact) event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidateUpdated(event);
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        invalidateUpdated(event);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate((Contact) event.getEntity());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        invalidate((Contact) event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Contact.class.equals(persister.getMappedClass());
+    }
+
+    private void invalidateUpdated(PostUpdateEvent event) {
+        invalidate((Contact) event.getEntity());
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            // detached update without a snapshot, the previous key is unknown
+            invalidateAll();
+            return;
+        }
+        List<String> properties = Arrays.asList(event.getPersister().getPropertyNames());
+        Object oldType = oldState[properties.indexOf("contactType")];
+        Object oldInfo = oldState[properties.indexOf("normalizedInfo")];
+        invalidate((ContactType) oldType, (String) oldInfo);
+    }
+
+    private void invalidate(Contact contact) {
+        invalidate(contact.getContactType(), contact.getNormalizedInfo());
+    }
+
+    private record LookupKey(ContactType type, String normalizedInfo) {
+    }
+}
@@ -1,58 +1,139 @@
 package com.example.customercontactapp.service;
 
+import com.example.customercontactapp.dto.ContactOwner;
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.dto.ContactTypeCount;
+import com.example.customercontactapp.dto.CustomerVersion;
 import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
 import com.example.customercontactapp.entity.Customer;
 import com.example.customercontactapp.repository.ContactRepository;
 import com.example.customercontactapp.repository.CustomerRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.PageRequest;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 @Transactional
+@Timed(value = "app.service", histogram = true)
 public class ContactService {
     
     private final ContactRepository contactRepository;
     private final CustomerRepository customerRepository;
+    private final ContactLookupIndex contactLookupIndex;
+    private final OptimisticRetryTemplate optimisticRetryTemplate;
+    private final ExternalWriteSync externalWriteSync;
     
-    public ContactService(ContactRepository contactRepository, CustomerRepository customerRepository) {
+    public ContactService(ContactRepository contactRepository, CustomerRepository customerRepository,
+                          ContactLookupIndex contactLookupIndex, OptimisticRetryTemplate optimisticRetryTemplate,
+                          ExternalWriteSync externalWriteSync) {
         this.contactRepository = contactRepository;
         this.customerRepository = customerRepository;
+        this.contactLookupIndex = contactLookupIndex;
+        this.optimisticRetryTemplate = optimisticRetryTemplate;
+        this.externalWriteSync = externalWriteSync;
     }
     
     public Contact createContact(Long customerId, Contact contact) {
-        Customer customer = customerRepository.findById(customerId)
-            .orElseThrow(() -> new RuntimeException("Customer not found with id: " + customerId));
-
+        // the customer is never loaded, the UPDATE that moves its contacts version also finds it
+        touchCustomer(customerId);
+        contact.setCustomer(customerRepository.getReferenceById(customerId));
         contact.setCustomerId(customerId);
-        customer.addContact(contact);
-        Customer savedCustomer = customerRepository.save(customer);
-        return savedCustomer.getContacts().stream().filter(c -> c.getContactType() == contact.getContactType() && c.getContactInfo().equals(contact.getContactInfo())).findFirst().orElse(null);
+        return contactRepository.save(contact);
     }
     
+    // version of the customer aggregate the contacts belong to
+    @Transactional(readOnly = true)
+    public Optional<CustomerVersion> getCustomerVersion(Long customerId) {
+        return customerRepository.findVersionById(customerId);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Contact> getAllContacts() {
         return contactRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Contact> getContactById(Long id) {
         return contactRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public List<Contact> getContactsByCustomerId(Long customerId) {
         return contactRepository.findByCustomerId(customerId);
     }
     
+    @Transactional(readOnly = true)
+    public List<ContactResponse> getContactResponsesAfter(Long afterId, int limit) {
+        return contactRepository.findResponsesAfter(afterId, PageRequest.ofSize(limit));
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<ContactResponse> getContactResponseById(Long id) {
+        return contactRepository.findResponseById(id);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ContactResponse> getContactResponsesByCustomerId(Long customerId) {
+        return contactRepository.findResponsesByCustomerId(customerId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ContactTypeCount> getContactCountsByType() {
+        return contactRepository.countByContactType();
+    }
+    
+    // not read-only: a miss fills the lookup index, which must never load from a lagging replica.
+    // A hit fetches no connection at all.
+    @Transactional
+    public List<ContactOwner> findOwners(ContactType type, String value) {
+        String normalizedInfo = type.normalize(value);
+        return contactLookupIndex.get(type, normalizedInfo, () -> contactRepository.findOwners(type, normalizedInfo));
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Contact updateContact(Long id, Contact contactDetails) {
-        Contact contact = contactRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Contact not found with id: " + id));
-        
-        contact.setContactType(contactDetails.getContactType());
-        contact.setContactInfo(contactDetails.getContactInfo());
-        return contactRepository.save(contact);
+        return updateContact(id, contactDetails, null);
+    }
+    
+    // SUPPORTS so each retry of the template gets a transaction of its own
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Contact updateContact(Long id, Contact contactDetails, Long expectedVersion) {
+        return optimisticRetryTemplate.execute(expectedVersion, () -> {
+            Contact contact = contactRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Contact not found with id: " + id));
+            OptimisticRetryTemplate.checkVersion("Contact", id, contact.getVersion(), expectedVersion);
+            touchCustomer(contact.getCustomerId());
+            
+            contact.setContactType(contactDetails.getContactType());
+            contact.setContactInfo(contactDetails.getContactInfo());
+            return contactRepository.saveAndFlush(contact);
+        });
     }
     
     public void deleteContact(Long id) {
-        contactRepository.deleteById(id);
+        contactRepository.findById(id).ifPresent(contact -> {
+            touchCustomer(contact.getCustomerId());
+            Customer customer = contact.getCustomer();
+            // a loaded collection would otherwise cascade the contact back in at flush
+            if (Hibernate.isInitialized(customer) && Hibernate.isInitialized(customer.getContacts())) {
+                customer.getContacts().remove(contact);
+            }
+            contactRepository.delete(contact);
+        });
+    }
+
+    // the aggregate's ETag moves with every contact write; no read or lock of the customer first
+    private void touchCustomer(Long customerId) {
+        if (customerRepository.touchContacts(List.of(customerId), Instant.now()) == 0) {
+            throw new RuntimeException("Customer not found with id: " + customerId);
+        }
+        externalWriteSync.afterCommit(() -> externalWriteSync.customersTouched(List.of(customerId)));
     }
 }
\ No newline at end of file
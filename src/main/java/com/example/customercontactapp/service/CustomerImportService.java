@@ -0,0 +1,107 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.BulkImportResult;
+import com.example.customercontactapp.dto.BulkImportResult.ChunkResult;
+import com.example.customercontactapp.entity.Customer;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@Timed(value = "app.service", histogram = true)
+public class CustomerImportService {
+
+    private final JsonMapper jsonMapper;
+    private final ObjectReader customerReader;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    // the mapper of the HTTP request bodies, so a customer binds here as it does on every other endpoint
+    public CustomerImportService(JsonMapper jsonMapper, EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.bulk-import.chunk-size:500}") int chunkSize) {
+        this.jsonMapper = jsonMapper;
+        this.customerReader = jsonMapper.readerFor(Customer.class);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    // Accepts a JSON array or newline delimited objects; only one chunk is held in memory.
+    // Chunks are committed as they fill, so a body that breaks off partway still leaves the
+    // earlier chunks imported. The result then lists them with the read error, and the rows
+    // of the unfinished chunk are dropped.
+    public BulkImportResult importCustomers(InputStream body) {
+        List<ChunkResult> chunks = new ArrayList<>();
+        List<Customer> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = jsonMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                chunk.add(customerReader.readValue(parser));
+                if (chunk.size() == chunkSize) {
+                    chunks.add(persistChunk(chunks.size(), chunk));
+                    chunk.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JacksonException e) {
+            log.warn("Bulk import stopped after {} committed chunk(s): {}", chunks.size(), e.getMessage());
+            return BulkImportResult.of(chunks, e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(persistChunk(chunks.size(), chunk));
+        }
+        return BulkImportResult.of(chunks);
+    }
+
+    private ChunkResult persistChunk(int index, List<Customer> customers) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistAll(customers));
+            return new ChunkResult(index, customers.size(), 0);
+        } catch (RuntimeException e) {
+            log.warn("Bulk import chunk {} failed, retrying row by row: {}", index, e.getMessage());
+        }
+
+        // isolate the bad rows so one of them does not cost the whole chunk
+        int imported = 0;
+        for (Customer customer : customers) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persistAll(List.of(customer)));
+                imported++;
+            } catch (RuntimeException e) {
+                log.warn("Bulk import rejected customer {}: {}", customer.getName(), e.getMessage());
+            }
+        }
+        return new ChunkResult(index, imported, customers.size() - imported);
+    }
+
+    private void persistAll(List<Customer> customers) {
+        customers.forEach(customer -> {
+            // ids may be left over from a rolled back attempt or sent by the client
+            customer.setId(null);
+            customer.getContacts().forEach(contact -> contact.setId(null));
+            entityManager.persist(customer);
+        });
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.CustomerSearchHit;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// In-process Lucene index over Customer.name. It is built once at startup and then
+// updated per committed customer write; searches refresh the reader only when it changed.
+// Writes that bypass the session (bulk JPQL/SQL, R2DBC) must call update/remove or rebuild().
+@Slf4j
+@Component
+public class CustomerSearchIndex implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    // shorter terms only match exactly or by prefix, fuzzy expansion of them is mostly noise
+    private static final int FUZZY_MIN_LENGTH = 3;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public CustomerSearchIndex(EntityManagerFactory entityManagerFactory, CustomerRepository customerRepository,
+                               PlatformTransactionManager transactionManager) throws IOException {
+        this.entityManagerFactory = entityManagerFactory;
+        this.customerRepository = customerRepository;
+        // deliberately not read-only: the index is rebuilt from the primary, never from a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PostConstruct
+    void initialize() {
+        // listeners first, so no commit falls between the rebuild snapshot and the first update
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        rebuild();
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        try {
+            writer.deleteAll();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CustomerSearchHit> names = customerRepository.streamNames()) {
+                    names.forEach(name -> update(name.id(), name.name()));
+                }
+            });
+            searcherManager.maybeRefreshBlocking();
+            log.info("Indexed {} customer names in {} ms", writer.getDocStats().numDocs,
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // offset based, every term of q has to match exactly, by prefix or within a few edits
+    public List<CustomerSearchHit> search(String q, int offset, int limit) {
+        Query query = buildQuery(q);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] scoreDocs = searcher.search(query, offset + limit).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<CustomerSearchHit> hits = new ArrayList<>(Math.max(scoreDocs.length - offset, 0));
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    Document document = storedFields.document(scoreDocs[i].doc);
+                    hits.add(new CustomerSearchHit(Long.valueOf(document.get(ID)), document.get(NAME)));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void update(Long id, String name) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.YES));
+        document.add(new TextField(NAME, name, Field.Store.YES));
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(id)), document);
+        } catch (IOException e) {
+            log.warn("Could not index customer {}: {}", id, e.getMessage());
+        }
+    }
+
+    public void remove(Long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, String.valueOf(id)));
+        } catch (IOException e) {
+            log.warn("Could not remove customer {} from the search index: {}", id, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Customer customer = (Customer) event.getEntity();
+        update(customer.getId(), customer.getName());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Customer customer = (Customer) event.getEntity();
+        update(customer.getId(), customer.getName());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        remove((Long) event.getId());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Customer.class.equals(persister.getMappedClass());
+    }
+
+    private Query buildQuery(String q) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean empty = true;
+        try (TokenStream tokens = analyzer.tokenStream(NAME, q)) {
+            CharTermAttribute termAttribute = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                String token = termAttribute.toString();
+                Term term = new Term(NAME, token);
+                BooleanQuery.Builder termQuery = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(term), 4f), Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(term), 2f), Occur.SHOULD);
+                if (token.length() >= FUZZY_MIN_LENGTH) {
+                    // a fixed first character keeps the term expansion cheap on large indexes
+                    termQuery.add(new FuzzyQuery(term, token.length() < 6 ? 1 : 2, 1), Occur.SHOULD);
+                }
+                query.add(termQuery.build(), Occur.MUST);
+                empty = false;
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return empty ? null : query.build();
+    }
+}
@@ -1,62 +1,275 @@
 package com.example.customercontactapp.service;
 
+import com.example.customercontactapp.dto.ContactKey;
+import com.example.customercontactapp.dto.CustomerContactCount;
+import com.example.customercontactapp.dto.CustomerContactRow;
+import com.example.customercontactapp.dto.CustomerPatch;
+import com.example.customercontactapp.dto.CustomerResponse;
+import com.example.customercontactapp.dto.CustomerSearchHit;
+import com.example.customercontactapp.dto.CustomerSummary;
+import com.example.customercontactapp.dto.CustomerVersion;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
 import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.ContactRepository;
 import com.example.customercontactapp.repository.CustomerRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 
+import org.hibernate.Hibernate;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @Transactional
+@Timed(value = "app.service", histogram = true)
 public class CustomerService {
     
     private final CustomerRepository customerRepository;
+    private final ContactRepository contactRepository;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final OptimisticRetryTemplate optimisticRetryTemplate;
+    private final ExternalWriteSync externalWriteSync;
     
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, ContactRepository contactRepository,
+                           CustomerSearchIndex customerSearchIndex, OptimisticRetryTemplate optimisticRetryTemplate,
+                           ExternalWriteSync externalWriteSync) {
         this.customerRepository = customerRepository;
+        this.contactRepository = contactRepository;
+        this.customerSearchIndex = customerSearchIndex;
+        this.optimisticRetryTemplate = optimisticRetryTemplate;
+        this.externalWriteSync = externalWriteSync;
     }
     
     public Customer createCustomer(Customer customer) {
         return customerRepository.save(customer);
     }
     
-    public List<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+    // readOnly: the session runs with FlushMode.MANUAL and loads entities without dirty-checking
+    // snapshots, and the connection is routed to the read replica when one is configured
+    @Transactional(readOnly = true)
+    public List<Long> getCustomerIdsAfter(Long afterId, int limit) {
+        return customerRepository.findIdsAfter(afterId, PageRequest.ofSize(limit));
     }
-    
+
+    // Response DTOs for the read endpoints: flat projection rows, nothing enters the persistence
+    // context. In id order, as the rows are sorted by customer.
+    @Transactional(readOnly = true)
+    public List<CustomerResponse> getCustomerResponsesByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<CustomerContactRow>> rowsByCustomer = new LinkedHashMap<>();
+        customerRepository.findRowsByIdIn(ids)
+            .forEach(row -> rowsByCustomer.computeIfAbsent(row.customerId(), k -> new ArrayList<>()).add(row));
+        return rowsByCustomer.values().stream().map(CustomerResponse::of).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public void streamCustomerResponses(Consumer<CustomerResponse> action) {
+        try (Stream<CustomerContactRow> rows = customerRepository.streamRows()) {
+            // rows arrive ordered by customer, so only the current customer's rows are held
+            List<CustomerContactRow> current = new ArrayList<>();
+            Iterator<CustomerContactRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                CustomerContactRow row = iterator.next();
+                if (!current.isEmpty() && !current.get(0).customerId().equals(row.customerId())) {
+                    action.accept(CustomerResponse.of(current));
+                    current.clear();
+                }
+                current.add(row);
+            }
+            if (!current.isEmpty()) {
+                action.accept(CustomerResponse.of(current));
+            }
+        }
+    }
+
+    // version and last-modified only, a conditional GET that matches reads nothing else
+    @Transactional(readOnly = true)
+    public Optional<CustomerVersion> getCustomerVersion(Long id) {
+        return customerRepository.findVersionById(id);
+    }
+
+    // same second-level cache friendly path as getCustomerById, mapped before the session closes
+    @Transactional(readOnly = true)
+    public Optional<CustomerResponse> getCustomerResponseById(Long id) {
+        return getCustomerById(id).map(CustomerResponse::from);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerContactCount> getContactCountsAfter(Long afterId, int limit) {
+        return customerRepository.countContactsAfter(afterId, PageRequest.ofSize(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> getCustomersWithoutContactTypeAfter(ContactType type, Long afterId, int limit) {
+        return customerRepository.findWithoutContactTypeAfter(type, afterId, PageRequest.ofSize(limit));
+    }
+
+    // served from the in-process index, no database connection is needed
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CustomerSearchHit> searchCustomers(String q, int offset, int limit) {
+        return customerSearchIndex.search(q, offset, limit);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Customer> getCustomerById(Long id) {
-        return customerRepository.findById(id);
+        // find + lazy collection so a warm second-level cache answers without touching the database
+        Optional<Customer> customer = customerRepository.findById(id);
+        customer.ifPresent(c -> Hibernate.initialize(c.getContacts()));
+        return customer;
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Customer updateCustomer(Long id, Customer customerDetails) {
-        // validate existence 
-        customerRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
-        
-        return customerRepository.save(customerDetails);
+        return updateCustomer(id, customerDetails, null);
+    }
+
+    // Applies the customer's own fields to the loaded row instead of saving the client's object.
+    // SUPPORTS so each retry of the template gets a transaction of its own. The contacts are
+    // initialized before that transaction ends, callers map the result outside of it.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Customer updateCustomer(Long id, Customer customerDetails, Long expectedVersion) {
+        return optimisticRetryTemplate.execute(expectedVersion, () -> {
+            Customer customer = customerRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + id));
+            OptimisticRetryTemplate.checkVersion("Customer", id, customer.getVersion(), expectedVersion);
+            
+            customer.setName(customerDetails.getName());
+            Customer saved = customerRepository.saveAndFlush(customer);
+            Hibernate.initialize(saved.getContacts());
+            return saved;
+        });
     }
 
+    // One UPDATE ... WHERE id = ? and nothing is loaded. Only when no row matched is the row
+    // looked up again, to tell a missing customer from a stale expected version.
+    public void patchCustomer(Long id, CustomerPatch patch, Long expectedVersion) {
+        if (customerRepository.patch(id, patch.name(), expectedVersion, Instant.now()) == 0) {
+            if (expectedVersion != null && customerRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException(
+                    "Customer " + id + " is not at version " + expectedVersion);
+            }
+            throw new RuntimeException("Customer not found with id: " + id);
+        }
+        // the native update raises no entity events, the cached row and the search index are synced by hand
+        externalWriteSync.afterCommit(() -> externalWriteSync.customerPatched(id, patch.name()));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Customer updateCustomerWithContacts(Long id, Customer customerDetails) {
-        Customer customer = customerRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
-        
-        customer.setName(customerDetails.getName());
-        
-        // Clear existing contacts and add new ones
-        customer.getContacts().clear();
-        if (customerDetails.getContacts() != null) {
-            customerDetails.getContacts().forEach(customer::addContact);
+        return updateCustomerWithContacts(id, customerDetails, null);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Customer updateCustomerWithContacts(Long id, Customer customerDetails, Long expectedVersion) {
+        List<Contact> incoming = customerDetails.getContacts() != null ? customerDetails.getContacts() : List.of();
+        return optimisticRetryTemplate.execute(expectedVersion, () -> {
+            Customer customer = customerRepository.findWithContactsById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + id));
+            OptimisticRetryTemplate.checkVersion("Customer", id, customer.getVersion(), expectedVersion);
+            
+            customer.setName(customerDetails.getName());
+            if (mergeContacts(customer, incoming)) {
+                customer.touch();
+            }
+            
+            return customerRepository.saveAndFlush(customer);
+        });
+    }
+
+    // Matches incoming contacts to existing ones by id, then by (type, info), so only
+    // changed rows are written: matched contacts are updated in place through dirty
+    // checking, unmatched existing ones are orphan-removed and the rest are inserted.
+    // Returns whether any contact changed.
+    private boolean mergeContacts(Customer customer, List<Contact> incoming) {
+        Map<Long, Contact> existingById = new HashMap<>();
+        customer.getContacts().forEach(c -> existingById.put(c.getId(), c));
+
+        Set<Contact> kept = new HashSet<>();
+        List<Contact> unmatched = new ArrayList<>();
+        boolean changed = false;
+        for (Contact contact : incoming) {
+            Contact existing = contact.getId() != null ? existingById.get(contact.getId()) : null;
+            if (existing != null && kept.add(existing)) {
+                changed |= existing.getContactType() != contact.getContactType()
+                    || !Objects.equals(existing.getContactInfo(), contact.getContactInfo());
+                existing.setContactType(contact.getContactType());
+                existing.setContactInfo(contact.getContactInfo());
+            } else {
+                unmatched.add(contact);
+            }
         }
-        
-        return customerRepository.save(customer);
-    }    
+
+        Map<MergeKey, Deque<Contact>> existingByKey = new HashMap<>();
+        customer.getContacts().stream()
+            .filter(c -> !kept.contains(c))
+            .forEach(c -> existingByKey.computeIfAbsent(MergeKey.of(c), k -> new ArrayDeque<>()).add(c));
+
+        List<Contact> added = new ArrayList<>();
+        for (Contact contact : unmatched) {
+            Deque<Contact> sameKey = existingByKey.get(MergeKey.of(contact));
+            if (sameKey != null && !sameKey.isEmpty()) {
+                kept.add(sameKey.poll());
+            } else {
+                added.add(contact);
+            }
+        }
+
+        changed |= customer.getContacts().removeIf(c -> !kept.contains(c));
+        // copies, so a retry after a conflict starts again from the untouched request
+        added.forEach(contact -> customer.addContact(
+            new Contact(null, contact.getContactType(), contact.getContactInfo())));
+        return changed || !added.isEmpty();
+    }
+
+    private record MergeKey(ContactType type, String info) {
+        static MergeKey of(Contact contact) {
+            return new MergeKey(contact.getContactType(), contact.getContactInfo());
+        }
+    }
     
     public void deleteCustomer(Long id) {
-        customerRepository.deleteById(id);
+        deleteCustomers(List.of(id));
+    }
+
+    // Three statements whatever the number of customers and contacts, instead of loading each
+    // customer and cascading to its contacts row by row: the contact keys are read so only those
+    // rows leave the caches, then one bulk DELETE for the contacts and one for the customers.
+    // Unknown ids are ignored.
+    public int deleteCustomers(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> customerIds = List.copyOf(new LinkedHashSet<>(ids));
+        List<ContactKey> contacts = contactRepository.findKeysByCustomerIdIn(customerIds);
+        int deleted = customerRepository.deleteAllByIds(customerIds);
+        // bulk deletes raise no entity events for the caches and the search and lookup indexes
+        externalWriteSync.afterCommit(() -> externalWriteSync.customersDeleted(customerIds, contacts));
+        return deleted;
     }
 }
\ No newline at end of file
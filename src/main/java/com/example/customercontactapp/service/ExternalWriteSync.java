@@ -0,0 +1,101 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.ContactKey;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.Customer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+// Writes that bypass the Hibernate session (R2DBC, bulk SQL) raise no entity events, so the
+// second-level cache and the in-process indexes have to be told about them after commit.
+@Component
+public class ExternalWriteSync {
+
+    private static final String CUSTOMER_CONTACTS_ROLE = Customer.class.getName() + ".contacts";
+    private static final String CONTACTS_BY_CUSTOMER_REGION = "contacts-by-customer";
+    private static final String CONTACT_STATS_REGION = "contact-stats";
+
+    private final Cache cache;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final ContactLookupIndex contactLookupIndex;
+
+    public ExternalWriteSync(EntityManagerFactory entityManagerFactory, CustomerSearchIndex customerSearchIndex,
+                             ContactLookupIndex contactLookupIndex) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.customerSearchIndex = customerSearchIndex;
+        this.contactLookupIndex = contactLookupIndex;
+    }
+
+    // for JPA bulk statements, which run inside the caller's transaction
+    public void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public void customerSaved(Long customerId, String name) {
+        cache.evictEntityData(Customer.class, customerId);
+        customerSearchIndex.update(customerId, name);
+    }
+
+    // version and last_modified always moved; a new name also shows up in the stats queries
+    public void customerPatched(Long customerId, String name) {
+        cache.evictEntityData(Customer.class, customerId);
+        if (name != null) {
+            customerSearchIndex.update(customerId, name);
+            cache.evictQueryRegion(CONTACT_STATS_REGION);
+        }
+    }
+
+    // contact writes that went through the session, only the customer rows were moved outside it
+    public void customersTouched(Collection<Long> customerIds) {
+        for (Long customerId : customerIds) {
+            cache.evictEntityData(Customer.class, customerId);
+        }
+    }
+
+    public void customersDeleted(Collection<Long> customerIds, Collection<ContactKey> contacts) {
+        customersRemoved(customerIds);
+        for (ContactKey contact : contacts) {
+            cache.evictEntityData(Contact.class, contact.contactId());
+            contactLookupIndex.invalidate(contact.contactType(), contact.normalizedInfo());
+        }
+        // cached query results are not addressable per customer
+        cache.evictQueryRegion(CONTACTS_BY_CUSTOMER_REGION);
+        cache.evictQueryRegion(CONTACT_STATS_REGION);
+    }
+
+    private void customersRemoved(Collection<Long> customerIds) {
+        for (Long customerId : customerIds) {
+            cache.evictEntityData(Customer.class, customerId);
+            cache.evictCollectionData(CUSTOMER_CONTACTS_ROLE, customerId);
+            customerSearchIndex.remove(customerId);
+        }
+    }
+
+    // the customer's version and last_modified moved with its contacts
+    public void contactsChanged(Long customerId) {
+        cache.evictEntityData(Customer.class, customerId);
+        cache.evictCollectionData(CUSTOMER_CONTACTS_ROLE, customerId);
+        cache.evictQueryRegion(CONTACTS_BY_CUSTOMER_REGION);
+        contactLookupIndex.invalidateAll();
+    }
+
+    public void contactChanged(Long customerId, Long contactId) {
+        cache.evictEntityData(Contact.class, contactId);
+        contactsChanged(customerId);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.customercontactapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+// Runs a read-modify-write in its own transaction and, when a concurrent commit bumped the
+// @Version first, reruns it on the fresh state. Rerunning the update re-applies the client's
+// changes on top of the winner's, which is the merge. Only blind writes are retried: a client
+// that sent an expected version (If-Match) gets the conflict, and so does a caller that is
+// already inside a transaction, since that transaction is rollback-only by then.
+@Slf4j
+@Component
+public class OptimisticRetryTemplate {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public OptimisticRetryTemplate(PlatformTransactionManager transactionManager,
+                                   @Value("${app.optimistic-lock.max-attempts:3}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T execute(Long expectedVersion, Supplier<T> update) {
+        boolean retryable = expectedVersion == null && !TransactionSynchronizationManager.isActualTransactionActive();
+        int attempts = retryable ? maxAttempts : 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= attempts) {
+                    throw e;
+                }
+                log.debug("Optimistic lock conflict on attempt {} of {}: {}", attempt, attempts, e.getMessage());
+            }
+        }
+    }
+
+    public static void checkVersion(String entity, Long id, Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new OptimisticLockingFailureException(
+                entity + " " + id + " is at version " + currentVersion + ", expected " + expectedVersion);
+        }
+    }
+}
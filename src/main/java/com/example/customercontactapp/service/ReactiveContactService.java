@@ -0,0 +1,73 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.repository.ReactiveContactRepository;
+import com.example.customercontactapp.repository.ReactiveCustomerRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveContactService {
+
+    private final ReactiveContactRepository contactRepository;
+    private final ReactiveCustomerRepository customerRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ExternalWriteSync externalWriteSync;
+
+    public ReactiveContactService(ReactiveContactRepository contactRepository,
+                                  ReactiveCustomerRepository customerRepository,
+                                  TransactionalOperator transactionalOperator,
+                                  ExternalWriteSync externalWriteSync) {
+        this.contactRepository = contactRepository;
+        this.customerRepository = customerRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.externalWriteSync = externalWriteSync;
+    }
+
+    public Mono<ContactResponse> createContact(Long customerId, Contact contact) {
+        Mono<ContactResponse> insert = customerRepository.existsById(customerId)
+            .flatMap(exists -> exists
+                ? contactRepository.insert(customerId, contact.getContactType(), contact.getContactInfo())
+                : Mono.<Long>error(new RuntimeException("Customer not found with id: " + customerId)))
+            // read back in the transaction, the version is whatever the column default gave the row
+            .flatMap(id -> customerRepository.touch(customerId).then(contactRepository.findById(id)));
+        return transactionalOperator.transactional(insert)
+            .doOnNext(created -> externalWriteSync.contactsChanged(customerId));
+    }
+
+    public Flux<ContactResponse> getAllContacts() {
+        return contactRepository.findAll();
+    }
+
+    public Mono<ContactResponse> getContactById(Long id) {
+        return contactRepository.findById(id);
+    }
+
+    public Flux<ContactResponse> getContactsByCustomerId(Long customerId) {
+        return contactRepository.findByCustomerId(customerId);
+    }
+
+    public Mono<ContactResponse> updateContact(Long id, Contact contactDetails) {
+        return contactRepository.findCustomerId(id)
+            .switchIfEmpty(Mono.error(new RuntimeException("Contact not found with id: " + id)))
+            .flatMap(customerId -> transactionalOperator.transactional(
+                    contactRepository.update(id, contactDetails.getContactType(), contactDetails.getContactInfo())
+                        .flatMap(updated -> customerRepository.touch(customerId).thenReturn(updated)))
+                .doOnNext(updated -> externalWriteSync.contactChanged(customerId, id)))
+            .then(contactRepository.findById(id));
+    }
+
+    public Mono<Void> deleteContact(Long id) {
+        return contactRepository.findCustomerId(id)
+            .flatMap(customerId -> transactionalOperator.transactional(
+                    contactRepository.deleteById(id)
+                        .flatMap(deleted -> customerRepository.touch(customerId).thenReturn(deleted)))
+                .doOnNext(deleted -> externalWriteSync.contactChanged(customerId, id)))
+            .then();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.ContactKey;
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.dto.CustomerContactRow;
+import com.example.customercontactapp.dto.CustomerResponse;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.ReactiveContactRepository;
+import com.example.customercontactapp.repository.ReactiveCustomerRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveCustomerService {
+
+    private final ReactiveCustomerRepository customerRepository;
+    private final ReactiveContactRepository contactRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ExternalWriteSync externalWriteSync;
+
+    public ReactiveCustomerService(ReactiveCustomerRepository customerRepository,
+                                   ReactiveContactRepository contactRepository,
+                                   TransactionalOperator transactionalOperator,
+                                   ExternalWriteSync externalWriteSync) {
+        this.customerRepository = customerRepository;
+        this.contactRepository = contactRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.externalWriteSync = externalWriteSync;
+    }
+
+    public Mono<CustomerResponse> createCustomer(Customer customer) {
+        List<Contact> contacts = customer.getContacts() != null ? customer.getContacts() : List.of();
+        Mono<CustomerResponse> insert = customerRepository.insert(customer.getName())
+            .flatMap(id -> Flux.fromIterable(contacts)
+                .concatMap(contact -> contactRepository.insert(id, contact.getContactType(), contact.getContactInfo())
+                    .map(contactId -> new ContactResponse(contactId, contact.getContactType(), contact.getContactInfo(), 0L)))
+                .collectList()
+                .map(created -> new CustomerResponse(id, customer.getName(), 0L, created)));
+        return transactionalOperator.transactional(insert)
+            .doOnNext(created -> {
+                externalWriteSync.customerSaved(created.id(), created.name());
+                if (!created.contacts().isEmpty()) {
+                    externalWriteSync.contactsChanged(created.id());
+                }
+            });
+    }
+
+    // demand from the subscriber is passed down to the driver, one customer at a time is assembled
+    public Flux<CustomerResponse> streamCustomers(Long afterId) {
+        return customerRepository.findRowsAfter(afterId)
+            .bufferUntilChanged(CustomerContactRow::customerId)
+            .map(CustomerResponse::of);
+    }
+
+    public Mono<CustomerResponse> getCustomerById(Long id) {
+        return customerRepository.findRowsById(id)
+            .collectList()
+            .filter(rows -> !rows.isEmpty())
+            .map(CustomerResponse::of);
+    }
+
+    public Mono<CustomerResponse> updateCustomer(Long id, Customer customerDetails) {
+        return customerRepository.updateName(id, customerDetails.getName())
+            .flatMap(updated -> updated == 0
+                ? Mono.<CustomerResponse>error(new RuntimeException("Customer not found with id: " + id))
+                : getCustomerById(id))
+            .doOnNext(customer -> externalWriteSync.customerSaved(customer.id(), customer.name()));
+    }
+
+    // the contact keys are read in the delete's transaction, so only those rows leave the caches
+    public Mono<Void> deleteCustomer(Long id) {
+        Mono<List<ContactKey>> delete = contactRepository.findKeysByCustomerId(id)
+            .collectList()
+            .flatMap(contacts -> customerRepository.deleteById(id).thenReturn(contacts));
+        return transactionalOperator.transactional(delete)
+            .doOnNext(contacts -> externalWriteSync.customersDeleted(List.of(id), contacts))
+            .then();
+    }
+}
@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS customers (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_customers PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS contacts (
+    id BIGINT NOT NULL,
+    contact_type VARCHAR(16) NOT NULL,
+    contact_info VARCHAR(255) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    CONSTRAINT pk_contacts PRIMARY KEY (id),
+    CONSTRAINT fk_contacts_customer FOREIGN KEY (customer_id) REFERENCES customers (id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS customers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS contacts_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- contacts(customer_id) is already covered by the index H2 created for fk_contacts_customer in V1
+CREATE INDEX IF NOT EXISTS idx_contacts_type_info ON contacts (contact_type, contact_info);
+CREATE INDEX IF NOT EXISTS idx_customers_name ON customers (name);
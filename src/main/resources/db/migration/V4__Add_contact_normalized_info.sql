@@ -0,0 +1,12 @@
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS normalized_info VARCHAR(255);
+
+-- same rules as ContactType.normalize
+UPDATE contacts
+SET normalized_info = CASE contact_type
+    WHEN 'PHONE' THEN REGEXP_REPLACE(contact_info, '[^0-9]', '')
+    ELSE LOWER(TRIM(contact_info))
+END;
+
+ALTER TABLE contacts ALTER COLUMN normalized_info SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_contacts_type_normalized ON contacts (contact_type, normalized_info);
@@ -0,0 +1,2 @@
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
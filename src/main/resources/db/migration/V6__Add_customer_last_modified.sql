@@ -0,0 +1,2 @@
+-- Last change to a customer or any of its contacts, sent as Last-Modified next to the version ETag
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
@@ -0,0 +1,2 @@
+-- Moved by every contact write, so the customer's own version only changes with its own fields
+ALTER TABLE customers ADD COLUMN IF NOT EXISTS contacts_version BIGINT DEFAULT 0 NOT NULL;
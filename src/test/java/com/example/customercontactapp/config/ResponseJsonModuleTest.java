@@ -0,0 +1,48 @@
+package com.example.customercontactapp.config;
+
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.dto.ContactTypeCount;
+import com.example.customercontactapp.dto.CustomerResponse;
+import com.example.customercontactapp.entity.ContactType;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// the hand-written serializers must keep producing what the default record mapping would
+class ResponseJsonModuleTest {
+
+    private final JsonMapper reflectiveMapper = JsonMapper.builder().build();
+    private final JsonMapper handWrittenMapper = JsonMapper.builder().addModule(new ResponseJsonModule()).build();
+
+    @Test
+    void testCustomerResponse_SameAsDefaultMapping() {
+        CustomerResponse customer = new CustomerResponse(1L, "John \"JD\" Doe", 3L, List.of(
+            new ContactResponse(10L, ContactType.PHONE, "111-111-1111", 0L),
+            new ContactResponse(11L, ContactType.EMAIL, null, null)));
+
+        assertSameJson(customer);
+    }
+
+    @Test
+    void testCustomerResponse_WithoutContacts() {
+        CustomerResponse customer = new CustomerResponse(1L, "John Doe", 0L, List.of());
+
+        assertSameJson(customer);
+    }
+
+    @Test
+    void testContactTypeInOtherPayloads() {
+        List<ContactTypeCount> counts = List.of(new ContactTypeCount(ContactType.HOME, 2));
+
+        assertSameJson(counts);
+    }
+
+    // compared as trees, the default mapping may order the properties differently
+    private void assertSameJson(Object value) {
+        assertThat(reflectiveMapper.readTree(handWrittenMapper.writeValueAsString(value)))
+            .isEqualTo(reflectiveMapper.readTree(reflectiveMapper.writeValueAsString(value)));
+    }
+}
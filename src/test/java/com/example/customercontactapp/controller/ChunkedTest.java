@@ -0,0 +1,73 @@
+package com.example.customercontactapp.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChunkedTest {
+
+    @Test
+    void testKeyset_ReadsChunkByChunk() {
+        List<Long> rows = LongStream.rangeClosed(1, 7).boxed().toList();
+        List<Long> afterIds = new ArrayList<>();
+
+        Iterable<Long> chunked = Chunked.keyset(0L, 3, (afterId, limit) -> {
+            afterIds.add(afterId);
+            return rows.stream().filter(id -> id > afterId).limit(limit).toList();
+        }, id -> id);
+
+        assertThat(chunked).containsExactlyElementsOf(rows);
+        // the short third chunk ends it without another query
+        assertThat(afterIds).containsExactly(0L, 3L, 6L);
+    }
+
+    @Test
+    void testKeyset_ExactMultipleOfChunkSize() {
+        List<Long> rows = LongStream.rangeClosed(1, 6).boxed().toList();
+
+        Iterable<Long> chunked = Chunked.keyset(0L, 3,
+            (afterId, limit) -> rows.stream().filter(id -> id > afterId).limit(limit).toList(), id -> id);
+
+        assertThat(chunked).containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    void testKeyset_NothingReadUntilIterated() {
+        List<Long> afterIds = new ArrayList<>();
+
+        Iterator<Long> iterator = Chunked.<Long>keyset(0L, 3, (afterId, limit) -> {
+            afterIds.add(afterId);
+            return List.of();
+        }, id -> id).iterator();
+
+        assertThat(afterIds).isEmpty();
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(afterIds).containsExactly(0L);
+    }
+
+    @Test
+    void testByKeys_ChunksTheKeys() {
+        List<List<Integer>> queried = new ArrayList<>();
+
+        Iterable<String> chunked = Chunked.byKeys(List.of(1, 2, 3, 4, 5), 2, keys -> {
+            queried.add(keys);
+            return keys.stream().map(key -> "row " + key).toList();
+        });
+
+        assertThat(chunked).containsExactly("row 1", "row 2", "row 3", "row 4", "row 5");
+        assertThat(queried).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    }
+
+    @Test
+    void testByKeys_SkipsEmptyChunks() {
+        Iterable<String> chunked = Chunked.byKeys(List.of(1, 2, 3, 4), 2,
+            keys -> keys.contains(1) ? List.<String>of() : List.of("row " + keys.get(0)));
+
+        assertThat(chunked).containsExactly("row 3");
+    }
+}
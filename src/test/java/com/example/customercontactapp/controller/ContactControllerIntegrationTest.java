@@ -18,8 +18,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
 import static org.hamcrest.Matchers.*;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -87,6 +91,23 @@ class ContactControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    void testGetContactCountsByType() throws Exception {
+        Customer customer1 = new Customer("John Doe");
+        customer1.addContact(new Contact(null,ContactType.PHONE, "111-111-1111"));
+        customer1.addContact(new Contact(null,ContactType.EMAIL, "john@example.com"));
+        Customer customer2 = new Customer("Jane Smith");
+        customer2.addContact(new Contact(null,ContactType.EMAIL, "jane@example.com"));
+        customerRepository.save(customer1);
+        customerRepository.save(customer2);
+
+        mockMvc.perform(get("/api/contacts/stats/by-type"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[?(@.contactType == 'EMAIL')].count").value(contains(2)))
+                .andExpect(jsonPath("$[?(@.contactType == 'PHONE')].count").value(contains(1)));
+    }
+
     @Test
     void testGetContactById() throws Exception {
         Customer customer = new Customer("John Doe");
@@ -123,6 +144,51 @@ class ContactControllerIntegrationTest {
                 .andExpect(jsonPath("$[2].contactType").value("HOME"));
     }
 
+    @Test
+    void testGetContactsByCustomerId_Cbor() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null,ContactType.PHONE, "111-111-1111"));
+        customer.addContact(new Contact(null,ContactType.EMAIL, "john@example.com"));
+        Customer savedCustomer = customerRepository.save(customer);
+
+        byte[] body = mockMvc.perform(get("/api/contacts/customer/{customerId}", savedCustomer.getId())
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode contacts = CBORMapper.builder().build().readTree(body);
+        assertThat(contacts.size()).isEqualTo(2);
+        assertThat(contacts.get(0).get("contactType").asString()).isEqualTo("PHONE");
+        assertThat(contacts.get(1).get("contactInfo").asString()).isEqualTo("john@example.com");
+    }
+
+    @Test
+    void testGetContactsByCustomerId_Smile() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null,ContactType.HOME, "123 Main St"));
+        Customer savedCustomer = customerRepository.save(customer);
+
+        byte[] body = mockMvc.perform(get("/api/contacts/customer/{customerId}", savedCustomer.getId())
+                .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode contacts = SmileMapper.builder().build().readTree(body);
+        assertThat(contacts.get(0).get("contactInfo").asString()).isEqualTo("123 Main St");
+    }
+
+    @Test
+    void testGetContactsByCustomerId_JsonByDefault() throws Exception {
+        Customer savedCustomer = customerRepository.save(new Customer("John Doe"));
+
+        mockMvc.perform(get("/api/contacts/customer/{customerId}", savedCustomer.getId())
+                .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     void testGetContactsByCustomerId_EmptyList() throws Exception {
         Customer customer = customerRepository.save(new Customer("John Doe"));
@@ -132,6 +198,45 @@ class ContactControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void testGetContactsByCustomerId_IfNoneMatch() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        customer = customerRepository.saveAndFlush(customer);
+        Long contactId = customer.getContacts().get(0).getId();
+
+        String eTag = mockMvc.perform(get("/api/contacts/customer/{customerId}", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/contacts/customer/{customerId}", customer.getId())
+                .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // a contact write moves the customer's contacts version, so the cached list is stale
+        mockMvc.perform(put("/api/contacts/{id}", contactId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Contact(null, ContactType.PHONE, "222-222-2222"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/contacts/customer/{customerId}", customer.getId())
+                .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$[0].contactInfo").value("222-222-2222"));
+    }
+
+    @Test
+    void testGetContactsByCustomerId_IfNoneMatch_UnknownCustomer() throws Exception {
+        mockMvc.perform(get("/api/contacts/customer/{customerId}", 999L)
+                .header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     void testUpdateContact() throws Exception {
         Customer customer = new Customer("John Doe");
@@ -150,6 +255,27 @@ class ContactControllerIntegrationTest {
                 .andExpect(jsonPath("$.contactInfo").value("updated@example.com"));
     }
 
+    @Test
+    void testUpdateContact_StaleIfMatch() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(customer.getId(),ContactType.PHONE, "111-111-1111"));
+        Customer savedCustomer = customerRepository.saveAndFlush(customer);
+        Contact savedContact = savedCustomer.getContacts().get(0);
+
+        mockMvc.perform(put("/api/contacts/{id}", savedContact.getId())
+                .header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Contact(null,ContactType.EMAIL, "updated@example.com"))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/api/contacts/{id}", savedContact.getId())
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Contact(null,ContactType.EMAIL, "updated@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+
     @Test
     void testUpdateContact_NotFound() throws Exception {
         Contact contact = new Contact(null,ContactType.PHONE, "123-456-7890");
@@ -204,4 +330,41 @@ class ContactControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(3)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLookupOwners_NormalizesValue() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "(123) 456-7890"));
+        customer.addContact(new Contact(null, ContactType.EMAIL, "John@Example.com"));
+        Customer saved = customerRepository.save(customer);
+        customerRepository.save(new Customer("Jane Doe"));
+
+        mockMvc.perform(get("/api/contacts/lookup")
+                .param("type", "PHONE")
+                .param("value", "123.456.7890"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].customerId").value(saved.getId()))
+                .andExpect(jsonPath("$[0].contactInfo").value("(123) 456-7890"));
+
+        mockMvc.perform(get("/api/contacts/lookup")
+                .param("type", "EMAIL")
+                .param("value", " john@example.COM "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].customerId").value(saved.getId()));
+    }
+
+    @Test
+    void testLookupOwners_NoMatch() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "123-456-7890"));
+        customerRepository.save(customer);
+
+        mockMvc.perform(get("/api/contacts/lookup")
+                .param("type", "EMAIL")
+                .param("value", "1234567890"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
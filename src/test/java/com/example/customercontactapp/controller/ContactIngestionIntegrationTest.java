@@ -0,0 +1,156 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.dto.ContactIngestRequest;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.ContactRepository;
+import com.example.customercontactapp.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// not @Transactional: the ingestion writer commits on its own thread
+@SpringBootTest(properties = "app.contact-ingest.queue-capacity=5")
+@AutoConfigureMockMvc
+class ContactIngestionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testIngest_AckCommit() throws Exception {
+        Customer customer = customerRepository.save(new Customer("John Doe"));
+        List<ContactIngestRequest> contacts = List.of(
+            new ContactIngestRequest(null, customer.getId(), ContactType.PHONE, "111-111-1111"),
+            new ContactIngestRequest(null, customer.getId(), ContactType.EMAIL, "john@example.com"));
+
+        perform(post("/api/contacts/ingest?ack=COMMIT")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(contacts)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(2))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.ids", hasSize(2)));
+
+        assertThat(contactRepository.findByCustomerId(customer.getId()))
+            .extracting(Contact::getContactInfo)
+            .containsExactlyInAnyOrder("111-111-1111", "john@example.com");
+    }
+
+    @Test
+    void testIngest_UpdatesExistingContact() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.EMAIL, "old@example.com"));
+        customerRepository.save(customer);
+        Long contactId = customer.getContacts().get(0).getId();
+
+        perform(post("/api/contacts/ingest?ack=COMMIT")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                    new ContactIngestRequest(contactId, customer.getId(), ContactType.EMAIL, "new@example.com")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ids[0]").value(contactId));
+
+        assertThat(contactRepository.findById(contactId)).get()
+            .extracting(Contact::getContactInfo).isEqualTo("new@example.com");
+    }
+
+    @Test
+    void testIngest_FailedWriteDoesNotFailTheBatch() throws Exception {
+        Customer customer = customerRepository.save(new Customer("John Doe"));
+        List<ContactIngestRequest> contacts = List.of(
+            new ContactIngestRequest(null, customer.getId(), ContactType.PHONE, "111-111-1111"),
+            new ContactIngestRequest(null, 999L, ContactType.PHONE, "222-222-2222"));
+
+        perform(post("/api/contacts/ingest?ack=COMMIT")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(contacts)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.ids[1]").value(nullValue()));
+
+        assertThat(contactRepository.findByCustomerId(customer.getId())).hasSize(1);
+    }
+
+    @Test
+    void testIngest_AckNone() throws Exception {
+        Customer customer = customerRepository.save(new Customer("John Doe"));
+
+        perform(post("/api/contacts/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                    new ContactIngestRequest(null, customer.getId(), ContactType.PHONE, "111-111-1111")))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1));
+
+        // a single writer commits in queue order, so the later acknowledged write covers the first
+        perform(post("/api/contacts/ingest?ack=COMMIT")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                    new ContactIngestRequest(null, customer.getId(), ContactType.EMAIL, "john@example.com")))))
+                .andExpect(status().isOk());
+
+        assertThat(contactRepository.findByCustomerId(customer.getId())).hasSize(2);
+    }
+
+    @Test
+    void testIngest_QueueFull() throws Exception {
+        Customer customer = customerRepository.save(new Customer("John Doe"));
+        List<ContactIngestRequest> contacts = IntStream.range(0, 6)
+            .mapToObj(i -> new ContactIngestRequest(null, customer.getId(), ContactType.PHONE, "555-000-" + i))
+            .toList();
+
+        perform(post("/api/contacts/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(contacts)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        assertThat(contactRepository.count()).isZero();
+    }
+
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
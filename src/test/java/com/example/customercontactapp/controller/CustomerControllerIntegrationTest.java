@@ -1,10 +1,14 @@
 package com.example.customercontactapp.controller;
 
+import com.example.customercontactapp.dto.CustomerPatch;
 import com.example.customercontactapp.entity.Contact;
 import com.example.customercontactapp.entity.ContactType;
 import com.example.customercontactapp.entity.Customer;
 import com.example.customercontactapp.repository.CustomerRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,9 +17,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
 import java.util.ArrayList;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,9 +42,15 @@ class CustomerControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
     @BeforeEach
     void setUp() {
         customerRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
 
     @Test
@@ -51,6 +65,67 @@ class CustomerControllerIntegrationTest {
                 .andExpect(jsonPath("$.name").value("John Doe"));
     }
 
+    @Test
+    void testCreateCustomer_Cbor() throws Exception {
+        CBORMapper cborMapper = CBORMapper.builder().build();
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null,ContactType.EMAIL, "john@example.com"));
+
+        byte[] body = mockMvc.perform(post("/api/customers")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cborMapper.writeValueAsBytes(customer)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode created = cborMapper.readTree(body);
+        assertThat(created.get("name").asString()).isEqualTo("John Doe");
+        assertThat(created.get("contacts").get(0).get("contactInfo").asString()).isEqualTo("john@example.com");
+    }
+
+    @Test
+    void testImportCustomers_JsonArray() throws Exception {
+        Customer john = new Customer("John Doe");
+        john.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        john.addContact(new Contact(null, ContactType.EMAIL, "john@example.com"));
+        Customer jane = new Customer("Jane Smith");
+
+        mockMvc.perform(post("/api/customers/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(john, jane))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.chunks", hasSize(1)));
+
+        mockMvc.perform(get("/api/customers"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].contacts", hasSize(2)));
+    }
+
+    @Test
+    void testImportCustomers_Ndjson() throws Exception {
+        String body = objectMapper.writeValueAsString(new Customer("John Doe")) + "\n"
+                + objectMapper.writeValueAsString(new Customer("Jane Smith")) + "\n";
+
+        mockMvc.perform(post("/api/customers/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+    }
+
+    @Test
+    void testImportCustomers_MalformedBody() throws Exception {
+        mockMvc.perform(post("/api/customers/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.error").isNotEmpty());
+    }
+
     @Test
     void testGetAllCustomers() throws Exception {
         customerRepository.save(new Customer("John Doe"));
@@ -63,6 +138,65 @@ class CustomerControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].name").value("Jane Smith"));
     }
 
+    @Test
+    void testGetAllCustomers_KeysetPagination() throws Exception {
+        Customer first = customerRepository.save(new Customer("John Doe"));
+        Customer second = customerRepository.save(new Customer("Jane Smith"));
+        Customer third = customerRepository.save(new Customer("Bob Johnson"));
+
+        mockMvc.perform(get("/api/customers").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(first.getId()))
+                .andExpect(jsonPath("$[1].id").value(second.getId()))
+                .andExpect(header().string("X-Next-Cursor", String.valueOf(second.getId())));
+
+        mockMvc.perform(get("/api/customers").param("afterId", String.valueOf(second.getId())).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(third.getId()))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void testGetContactCounts_KeysetPagination() throws Exception {
+        Customer first = new Customer("John Doe");
+        first.addContact(new Contact(null,ContactType.PHONE, "111-111-1111"));
+        first.addContact(new Contact(null,ContactType.EMAIL, "john@example.com"));
+        customerRepository.save(first);
+        Customer second = customerRepository.save(new Customer("Jane Doe"));
+
+        mockMvc.perform(get("/api/customers/stats/contact-counts").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", String.valueOf(first.getId())))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].contacts").value(2));
+
+        mockMvc.perform(get("/api/customers/stats/contact-counts")
+                        .param("afterId", String.valueOf(first.getId()))
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].id").value(second.getId()))
+                .andExpect(jsonPath("$[0].contacts").value(0));
+    }
+
+    @Test
+    void testGetCustomersWithoutContactType() throws Exception {
+        Customer withEmail = new Customer("John Doe");
+        withEmail.addContact(new Contact(null,ContactType.EMAIL, "john@example.com"));
+        customerRepository.save(withEmail);
+        Customer phoneOnly = new Customer("Jane Doe");
+        phoneOnly.addContact(new Contact(null,ContactType.PHONE, "111-111-1111"));
+        customerRepository.save(phoneOnly);
+        Customer noContacts = customerRepository.save(new Customer("Jim Doe"));
+
+        mockMvc.perform(get("/api/customers/stats/without-contact-type"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(
+                        phoneOnly.getId().intValue(), noContacts.getId().intValue())));
+    }
+
     @Test
     void testGetCustomerById() throws Exception {
         Customer customer = customerRepository.save(new Customer("John Doe"));
@@ -92,6 +226,120 @@ class CustomerControllerIntegrationTest {
                 .andExpect(jsonPath("$.name").value("John Smith"));
     }
 
+    @Test
+    void testUpdateCustomer_IfMatch() throws Exception {
+        Customer customer = customerRepository.save(new Customer("John Doe"));
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0.0\""));
+
+        mockMvc.perform(put("/api/customers/{id}", customer.getId())
+                .header("If-Match", "\"0.0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Customer("John Smith"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.0\""))
+                .andExpect(jsonPath("$.name").value("John Smith"));
+    }
+
+    @Test
+    void testGetCustomerById_IfNoneMatch_NotModified() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(new Customer("John Doe"));
+        statistics.clear();
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId())
+                .header("If-None-Match", "\"0.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"0.0\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(content().string(""));
+
+        // the version query only, the customer is never loaded
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testGetCustomerById_IfModifiedSince_NotModified() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(new Customer("John Doe"));
+
+        String lastModified = mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("Last-Modified");
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId())
+                .header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testGetCustomerById_ContactWriteChangesETag() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(new Customer("John Doe"));
+
+        mockMvc.perform(post("/api/contacts/customer/{customerId}", customer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Contact(null, ContactType.PHONE, "123-456-7890"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId())
+                .header("If-None-Match", "\"0.0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0.1\""))
+                .andExpect(jsonPath("$.version").value(0));
+    }
+
+    @Test
+    void testUpdateCustomer_IfMatchAfterContactWrite() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(new Customer("John Doe"));
+
+        mockMvc.perform(post("/api/contacts/customer/{customerId}", customer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Contact(null, ContactType.PHONE, "123-456-7890"))))
+                .andExpect(status().isCreated());
+
+        // the tag was read before the contact write, only its customer part is compared
+        mockMvc.perform(put("/api/customers/{id}", customer.getId())
+                .header("If-Match", "\"0.0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Customer("John Smith"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Smith"));
+    }
+
+    @Test
+    void testGetCustomerById_IfNoneMatchList() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(new Customer("John Doe"));
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId())
+                .header("If-None-Match", "\"7\", W/\"0.0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId())
+                .header("If-None-Match", "\"7\"")
+                .header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0.0\""));
+    }
+
+    @Test
+    void testGetCustomerById_IfNoneMatch_NotFound() throws Exception {
+        mockMvc.perform(get("/api/customers/{id}", 999L)
+                .header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUpdateCustomer_StaleIfMatch() throws Exception {
+        Customer customer = customerRepository.save(new Customer("John Doe"));
+
+        mockMvc.perform(put("/api/customers/{id}", customer.getId())
+                .header("If-Match", "\"5\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Customer("John Smith"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void testUpdateCustomer_NotFound() throws Exception {
         Customer customer = new Customer("John Doe");
@@ -102,6 +350,55 @@ class CustomerControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void testPatchCustomer() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(new Customer("John Doe"));
+
+        mockMvc.perform(patch("/api/customers/{id}", customer.getId())
+                .header("If-Match", "\"0.0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CustomerPatch("John Smith"))))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"1.0\""));
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.0\""))
+                .andExpect(jsonPath("$.name").value("John Smith"));
+    }
+
+    @Test
+    void testPatchCustomer_MissingFieldKeepsValue() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(new Customer("John Doe"));
+
+        mockMvc.perform(patch("/api/customers/{id}", customer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(jsonPath("$.name").value("John Doe"));
+    }
+
+    @Test
+    void testPatchCustomer_NotFound() throws Exception {
+        mockMvc.perform(patch("/api/customers/{id}", 999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CustomerPatch("John Smith"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testPatchCustomer_StaleIfMatch() throws Exception {
+        Customer customer = customerRepository.saveAndFlush(new Customer("John Doe"));
+
+        mockMvc.perform(patch("/api/customers/{id}", customer.getId())
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CustomerPatch("John Smith"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void testUpdateCustomerWithContacts() throws Exception {
         Customer customer = new Customer("John Doe");
@@ -150,4 +447,44 @@ class CustomerControllerIntegrationTest {
         mockMvc.perform(get("/api/customers/{id}", savedCustomer.getId()))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeleteCustomers_Bulk() throws Exception {
+        Customer first = new Customer("John Doe");
+        first.addContact(new Contact(null,ContactType.PHONE, "111-111-1111"));
+        Customer second = new Customer("Jane Doe");
+        second.addContact(new Contact(null,ContactType.EMAIL, "jane@example.com"));
+        Customer kept = customerRepository.save(new Customer("Jim Doe"));
+        customerRepository.save(first);
+        customerRepository.save(second);
+
+        mockMvc.perform(post("/api/customers/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(first.getId(), second.getId(), 999L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        mockMvc.perform(get("/api/customers/{id}", first.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/customers/{id}", kept.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testDeleteCustomers_EmptyList() throws Exception {
+        mockMvc.perform(post("/api/customers/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchCustomers_InvalidRequest() throws Exception {
+        mockMvc.perform(get("/api/customers/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/customers/search").param("q", "john").param("page", "1000").param("size", "100"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not transactional: every chunk of the import commits on its own, as it does in production
+@SpringBootTest(properties = "app.bulk-import.chunk-size=2")
+@AutoConfigureMockMvc
+class CustomerImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testImportCustomers_TruncatedBody_ReportsCommittedChunks() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Customer customer = new Customer("Customer " + i);
+            customer.addContact(new Contact(null, ContactType.PHONE, "555-000-" + i));
+            customers.add(customer);
+        }
+        String complete = objectMapper.writeValueAsString(customers);
+        // cut off inside the last customer, after two full chunks of two
+        String truncated = complete.substring(0, complete.lastIndexOf("\"name\"") + 10);
+
+        mockMvc.perform(post("/api/customers/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(truncated))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(4))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.chunks", hasSize(2)))
+                .andExpect(jsonPath("$.error").isNotEmpty());
+
+        assertThat(customerRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void testImportCustomers_CompleteBody_NoError() throws Exception {
+        String body = objectMapper.writeValueAsString(List.of(new Customer("John Doe"), new Customer("Jane Smith"),
+                new Customer("Bob Johnson")));
+
+        mockMvc.perform(post("/api/customers/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.chunks", hasSize(2)))
+                .andExpect(jsonPath("$.error").doesNotExist());
+
+        assertThat(customerRepository.count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not transactional: the response is mapped after the service's transaction has ended, as it is
+// in production with open-in-view off, so lazy state it touches has to be loaded by then
+@SpringBootTest
+@AutoConfigureMockMvc
+class CustomerUpdateIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testUpdateCustomer_ReturnsContacts() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        Long customerId = customerRepository.save(customer).getId();
+
+        mockMvc.perform(put("/api/customers/{id}", customerId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Customer("John Smith"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.0\""))
+                .andExpect(jsonPath("$.name").value("John Smith"))
+                .andExpect(jsonPath("$.contacts.length()").value(1))
+                .andExpect(jsonPath("$.contacts[0].contactInfo").value("111-111-1111"));
+    }
+
+    @Test
+    void testUpdateCustomer_NotFound() throws Exception {
+        mockMvc.perform(put("/api/customers/{id}", 999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Customer("John Smith"))))
+                .andExpect(status().isNotFound());
+
+        assertThat(customerRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.CustomercontactappApplication;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.service.CustomerService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// GET /api/contacts over 1M rows, read through gzip by a client in the same JVM. The heap is
+// sampled after a full GC every 100k contacts; a buffered List of the rows alone would add
+// well over 100 MB, the streamed response should only ever hold a chunk of them.
+// Run with: gradlew loadTest
+@Slf4j
+@Tag("load")
+class ListStreamingLoadTest {
+
+    private static final int CONTACTS = 1_000_000;
+    private static final int SAMPLE_EVERY = 100_000;
+    private static final long MAX_HEAP_GROWTH = 48L * 1024 * 1024;
+
+    @Test
+    void testStreamingOneMillionContacts_BoundedHeap() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CustomercontactappApplication.class)
+                .run("--server.port=0",
+                     "--spring.datasource.url=jdbc:h2:mem:load-list-stream;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--logging.level.root=WARN")) {
+            Long customerId = context.getBean(CustomerService.class).createCustomer(new Customer("John Doe")).getId();
+            // generated in the database, a million entities through JPA would take minutes
+            new JdbcTemplate(context.getBean(DataSource.class)).update("""
+                INSERT INTO contacts (id, contact_type, contact_info, normalized_info, customer_id, version)
+                SELECT X, 'PHONE', CONCAT('555-', X), CONCAT('555', X), ?, 0 FROM SYSTEM_RANGE(1, ?)
+                """, customerId, CONTACTS);
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            long baseline = usedHeapAfterGc(memory);
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/contacts"))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .timeout(Duration.ofMinutes(5))
+                .build();
+
+            long start = System.nanoTime();
+            long firstByte = 0;
+            long contacts = 0;
+            long peakGrowth = 0;
+            try (HttpClient client = HttpClient.newHttpClient()) {
+                HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                assertThat(response.statusCode()).isEqualTo(200);
+                assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+                assertThat(response.headers().firstValue("Content-Length")).isEmpty();
+
+                try (InputStream body = new GZIPInputStream(response.body())) {
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = body.read(buffer)) != -1) {
+                        if (firstByte == 0) {
+                            firstByte = System.nanoTime() - start;
+                        }
+                        for (int i = 0; i < read; i++) {
+                            // one closing brace per contact object
+                            if (buffer[i] == '}' && ++contacts % SAMPLE_EVERY == 0) {
+                                peakGrowth = Math.max(peakGrowth, usedHeapAfterGc(memory) - baseline);
+                            }
+                        }
+                    }
+                }
+            }
+            Duration total = Duration.ofNanos(System.nanoTime() - start);
+
+            log.info("{} contacts in {}, first byte after {} ms, peak heap growth {} KB",
+                contacts, total, Duration.ofNanos(firstByte).toMillis(), peakGrowth / 1024);
+
+            assertThat(contacts).isEqualTo(CONTACTS);
+            assertThat(Duration.ofNanos(firstByte)).isLessThan(total.dividedBy(10));
+            assertThat(peakGrowth).isLessThan(MAX_HEAP_GROWTH);
+        }
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testServiceCallsAreTimed() throws Exception {
+        Customer customer = customerRepository.save(new Customer("John Doe"));
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk());
+
+        Timer timer = meterRegistry.find("app.service").tag("method", "getCustomerById").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isPositive();
+    }
+
+    @Test
+    void testStatementsPerRequestAreRecorded() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        customerRepository.saveAndFlush(customer);
+
+        mockMvc.perform(get("/api/contacts/customer/{customerId}", customer.getId()))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("hibernate.statements.per.request")
+                .tag("uri", "/api/contacts/customer/{customerId}")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.totalAmount()).isPositive();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.ContactRepository;
+import com.example.customercontactapp.repository.CustomerRepository;
+import com.example.customercontactapp.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// not @Transactional: R2DBC runs on its own connections and cannot see a test transaction
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveCustomerControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testCreateCustomer_VisibleToJpa() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "123-456-7890"));
+
+        perform(post("/api/reactive/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(customer)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.name").value("John Doe"))
+                .andExpect(jsonPath("$.contacts", hasSize(1)));
+
+        assertThat(customerService.getCustomerResponsesByIds(customerService.getCustomerIdsAfter(0L, 10)))
+                .singleElement()
+                .satisfies(created -> assertThat(created.contacts()).hasSize(1));
+    }
+
+    @Test
+    void testGetCustomerById() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.EMAIL, "john@example.com"));
+        Customer saved = customerService.createCustomer(customer);
+
+        perform(get("/api/reactive/customers/{id}", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Doe"))
+                .andExpect(jsonPath("$.contacts[0].contactInfo").value("john@example.com"));
+
+        perform(get("/api/reactive/customers/{id}", 999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testStreamCustomers() throws Exception {
+        Customer john = new Customer("John Doe");
+        john.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        john.addContact(new Contact(null, ContactType.HOME, "123 Main St"));
+        customerService.createCustomer(john);
+        customerService.createCustomer(new Customer("Jane Smith"));
+
+        String body = perform(get("/api/reactive/customers").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(2);
+        assertThat(body.lines().findFirst().orElseThrow()).contains("John Doe", "111-111-1111", "123 Main St");
+    }
+
+    @Test
+    void testUpdateAndDeleteCustomer() throws Exception {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "555-0100"));
+        Customer saved = customerService.createCustomer(customer);
+
+        perform(put("/api/reactive/customers/{id}", saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Customer("John Updated"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Updated"));
+
+        perform(put("/api/reactive/customers/{id}", 999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Customer("Nobody"))))
+                .andExpect(status().isNotFound());
+
+        perform(delete("/api/reactive/customers/{id}", saved.getId()))
+                .andExpect(status().isNoContent());
+
+        assertThat(customerRepository.existsById(saved.getId())).isFalse();
+        assertThat(contactRepository.findById(saved.getContacts().get(0).getId())).isEmpty();
+    }
+
+    @Test
+    void testContactEndpoints() throws Exception {
+        Customer saved = customerService.createCustomer(new Customer("John Doe"));
+
+        perform(post("/api/reactive/contacts/customer/{customerId}", saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Contact(null, ContactType.PHONE, "555-0100"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.contactType").value("PHONE"))
+                .andExpect(jsonPath("$.version").value(0));
+
+        perform(post("/api/reactive/contacts/customer/{customerId}", 999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Contact(null, ContactType.PHONE, "555-0100"))))
+                .andExpect(status().isBadRequest());
+
+        String body = perform(get("/api/reactive/contacts/customer/{customerId}", saved.getId())
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.lines()).singleElement().asString().contains("555-0100");
+    }
+
+    // reactive handlers complete asynchronously, the result is dispatched once they are done
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.CustomercontactappApplication;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.service.CustomerService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Slow, long-lived NDJSON readers against the MVC stream (StreamingResponseBody, one thread per
+// open response) and the reactive one (R2DBC Flux, demand driven by the client).
+// Clients run on virtual threads, so the peak platform thread count is the server's.
+// Run with: gradlew loadTest
+@Slf4j
+@Tag("load")
+class ReactiveLoadTest {
+
+    private static final int CUSTOMERS = 2_000;
+    private static final int CONCURRENT_CLIENTS = 500;
+    private static final int LINES_PER_PAUSE = 100;
+    private static final Duration READ_PAUSE = Duration.ofMillis(5);
+
+    record LoadResult(String stack, long streams, long errors, Duration duration, int peakThreads) {
+        double throughput() {
+            return streams / (duration.toMillis() / 1000.0);
+        }
+    }
+
+    @Test
+    void testSlowStreamingClients() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CustomercontactappApplication.class)
+                .run("--server.port=0",
+                     "--spring.datasource.url=jdbc:h2:mem:load-reactive;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--logging.level.root=WARN")) {
+            CustomerService customerService = context.getBean(CustomerService.class);
+            for (int i = 0; i < CUSTOMERS; i++) {
+                Customer customer = new Customer("Customer " + i);
+                customer.addContact(new Contact(null, ContactType.PHONE, "555-000-" + i));
+                customer.addContact(new Contact(null, ContactType.EMAIL, "customer" + i + "@example.com"));
+                customerService.createCustomer(customer);
+            }
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadResult mvc = runLoad("mvc", URI.create("http://localhost:" + port + "/api/customers/stream"));
+            LoadResult reactive = runLoad("reactive", URI.create("http://localhost:" + port + "/api/reactive/customers"));
+
+            for (LoadResult result : new LoadResult[] {mvc, reactive}) {
+                log.info("{}: {} streams/s, {} completed, {} errors, {} peak platform threads at {} concurrent clients",
+                    result.stack(), String.format("%.1f", result.throughput()), result.streams(), result.errors(),
+                    result.peakThreads(), CONCURRENT_CLIENTS);
+            }
+
+            assertThat(mvc.streams()).isPositive();
+            assertThat(reactive.streams()).isPositive();
+        }
+    }
+
+    private LoadResult runLoad(String stack, URI uri) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .header("Accept", "application/x-ndjson")
+            .timeout(Duration.ofMinutes(5))
+            .build();
+
+        long start = System.nanoTime();
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+                clients.submit(() -> {
+                    try {
+                        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+                        long lines = 0;
+                        try (Stream<String> body = response.body()) {
+                            Iterator<String> iterator = body.iterator();
+                            while (iterator.hasNext()) {
+                                iterator.next();
+                                if (++lines % LINES_PER_PAUSE == 0) {
+                                    Thread.sleep(READ_PAUSE);
+                                }
+                            }
+                        }
+                        if (response.statusCode() == 200 && lines == CUSTOMERS) {
+                            completed.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        return new LoadResult(stack, completed.get(), errors.get(), duration, threads.getPeakThreadCount());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.CustomercontactappApplication;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.service.CustomerService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Run with: gradlew loadTest
+@Slf4j
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final int CONCURRENT_CONNECTIONS = 5_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    record LoadResult(String mode, long completed, long errors, Duration duration) {
+        double throughput() {
+            return completed / (duration.toMillis() / 1000.0);
+        }
+    }
+
+    @Test
+    void testThroughputAtFiveThousandConcurrentConnections() throws Exception {
+        LoadResult platform = runLoad(false);
+        LoadResult virtual = runLoad(true);
+
+        for (LoadResult result : new LoadResult[] {platform, virtual}) {
+            log.info("{} threads: {} requests/s, {} completed, {} errors at {} concurrent connections",
+                result.mode(), String.format("%.0f", result.throughput()), result.completed(), result.errors(),
+                CONCURRENT_CONNECTIONS);
+        }
+
+        assertThat(platform.completed()).isPositive();
+        assertThat(virtual.completed()).isPositive();
+    }
+
+    private LoadResult runLoad(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CustomercontactappApplication.class)
+                .run("--server.port=0",
+                     "--spring.threads.virtual.enabled=" + virtualThreads,
+                     "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.show-sql=false",
+                     "--logging.level.root=WARN")) {
+            Customer customer = new Customer("John Doe");
+            customer.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+            customer.addContact(new Contact(null, ContactType.EMAIL, "john@example.com"));
+            Long customerId = context.getBean(CustomerService.class).createCustomer(customer).getId();
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/api/customers/" + customerId);
+
+            generateLoad(uri, WARMUP);
+            long[] counts = generateLoad(uri, MEASUREMENT);
+            return new LoadResult(mode, counts[0], counts[1], MEASUREMENT);
+        }
+    }
+
+    // keeps CONCURRENT_CONNECTIONS requests in flight until the duration has elapsed
+    private long[] generateLoad(URI uri, Duration duration) throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        Semaphore inFlight = new Semaphore(CONCURRENT_CONNECTIONS);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build();
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            long deadline = System.nanoTime() + duration.toNanos();
+            while (System.nanoTime() < deadline) {
+                inFlight.acquire();
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure == null && response.statusCode() == 200) {
+                            completed.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+            }
+            inFlight.acquire(CONCURRENT_CONNECTIONS);
+        }
+        return new long[] {completed.get(), errors.get()};
+    }
+}
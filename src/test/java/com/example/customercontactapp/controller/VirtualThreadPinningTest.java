@@ -0,0 +1,119 @@
+package com.example.customercontactapp.controller;
+
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import com.example.customercontactapp.service.ContactService;
+import com.example.customercontactapp.service.CustomerService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Requests go through the embedded server, which runs them on virtual threads with
+// spring.threads.virtual.enabled. A pool much smaller than the number of concurrent requests
+// forces them to wait in Hikari. Every pinned stack is logged so driver hotspots show up in the
+// test output; the test fails if a virtual thread is pinned while waiting for a pooled
+// connection, since that would starve the carrier threads once the pool is exhausted.
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=true",
+    "spring.datasource.hikari.maximum-pool-size=4"
+})
+class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testRequestsOnVirtualThreads_NotPinnedWhileWaitingForConnection() throws Exception {
+        Long customerId = customerService.createCustomer(new Customer("John Doe")).getId();
+        URI contacts = URI.create("http://localhost:" + port + "/api/contacts/customer/" + customerId);
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+
+        try (RecordingStream recording = new RecordingStream();
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, pinned::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<int[]>> results = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    String body = "{\"contactType\":\"PHONE\",\"contactInfo\":\"555-" + i + "\"}";
+                    results.add(executor.submit(() -> {
+                        HttpResponse<Void> created = client.send(HttpRequest.newBuilder(contacts)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(), HttpResponse.BodyHandlers.discarding());
+                        HttpResponse<Void> listed = client.send(HttpRequest.newBuilder(contacts).build(),
+                            HttpResponse.BodyHandlers.discarding());
+                        return new int[] {created.statusCode(), listed.statusCode()};
+                    }));
+                }
+                for (Future<int[]> result : results) {
+                    assertThat(result.get()).containsExactly(201, 200);
+                }
+            }
+            // waits until the recorded events have been consumed
+            recording.stop();
+        }
+
+        log.info("{} pinned virtual thread event(s)", pinned.size());
+        pinned.forEach(event -> log.info("Pinned for {}:\n{}", event.getDuration(), describe(event)));
+
+        assertThat(contactService.getContactsByCustomerId(customerId)).hasSize(500);
+        assertThat(pinned).noneMatch(event -> hasFrame(event, "com.zaxxer.hikari.pool.HikariPool", "getConnection"));
+    }
+
+    private static boolean hasFrame(RecordedEvent event, String type, String method) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+            .anyMatch(frame -> frame.getMethod().getType().getName().equals(type)
+                && frame.getMethod().getName().equals(method));
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "  (no stack trace)";
+        }
+        return event.getStackTrace().getFrames().stream()
+            .map(RecordedFrame::getMethod)
+            .map(method -> "  at " + method.getType().getName() + "." + method.getName())
+            .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.ContactOwner;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// not @Transactional: the lookup index is evicted on commit
+@SpringBootTest(properties = "app.contact-lookup.cache-enabled=true")
+class ContactLookupIntegrationTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ContactLookupIndex contactLookupIndex;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        contactLookupIndex.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testFindOwners_SeesCreatedContact() {
+        Customer customer = customerService.createCustomer(new Customer("John Doe"));
+        assertThat(contactService.findOwners(ContactType.PHONE, "555-0100")).isEmpty();
+
+        contactService.createContact(customer.getId(), new Contact(null, ContactType.PHONE, "555 0100"));
+
+        List<ContactOwner> owners = contactService.findOwners(ContactType.PHONE, "555-0100");
+        assertThat(owners).extracting(ContactOwner::customerId).containsExactly(customer.getId());
+    }
+
+    @Test
+    void testFindOwners_SeesUpdatedContact() {
+        Customer customer = customerService.createCustomer(new Customer("John Doe"));
+        Contact contact = contactService.createContact(customer.getId(),
+            new Contact(null, ContactType.EMAIL, "old@example.com"));
+        assertThat(contactService.findOwners(ContactType.EMAIL, "old@example.com")).hasSize(1);
+        assertThat(contactService.findOwners(ContactType.EMAIL, "new@example.com")).isEmpty();
+
+        contactService.updateContact(contact.getId(), new Contact(null, ContactType.EMAIL, "New@Example.com"));
+
+        assertThat(contactService.findOwners(ContactType.EMAIL, "old@example.com")).isEmpty();
+        assertThat(contactService.findOwners(ContactType.EMAIL, "new@example.com"))
+            .extracting(ContactOwner::contactId).containsExactly(contact.getId());
+    }
+
+    @Test
+    void testFindOwners_SeesDeletedContact() {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "555-0100"));
+        Customer saved = customerService.createCustomer(customer);
+        assertThat(contactService.findOwners(ContactType.PHONE, "5550100")).hasSize(1);
+
+        customerService.deleteCustomer(saved.getId());
+
+        assertThat(contactService.findOwners(ContactType.PHONE, "5550100")).isEmpty();
+    }
+
+    @Test
+    void testDeleteCustomers_InvalidatesOnlyTheirKeys() {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "555-0100"));
+        Long customerId = customerService.createCustomer(customer).getId();
+        Customer other = new Customer("Jane Doe");
+        other.addContact(new Contact(null, ContactType.EMAIL, "jane@example.com"));
+        Long otherId = customerService.createCustomer(other).getId();
+        assertThat(contactService.findOwners(ContactType.EMAIL, "jane@example.com")).hasSize(1);
+        // a second owner the index cannot know about, it only shows once the key is reloaded
+        new JdbcTemplate(dataSource).update("""
+            INSERT INTO contacts (id, contact_type, contact_info, normalized_info, customer_id, version)
+            VALUES (1000000, 'EMAIL', 'jane@example.com', 'jane@example.com', ?, 0)
+            """, otherId);
+
+        customerService.deleteCustomers(List.of(customerId));
+
+        assertThat(contactService.findOwners(ContactType.PHONE, "5550100")).isEmpty();
+        assertThat(contactService.findOwners(ContactType.EMAIL, "jane@example.com")).hasSize(1);
+    }
+
+    @Test
+    void testGet_InvalidationDuringLoadDropsTheEntry() {
+        ContactOwner stale = new ContactOwner(1L, 10L, ContactType.PHONE, "555-0100");
+        ContactOwner fresh = new ContactOwner(2L, 20L, ContactType.PHONE, "555-0100");
+
+        // a commit evicts the key while the first load is still reading
+        List<ContactOwner> first = contactLookupIndex.get(ContactType.PHONE, "5550100", () -> {
+            contactLookupIndex.invalidate(ContactType.PHONE, "5550100");
+            return List.of(stale);
+        });
+
+        assertThat(first).containsExactly(stale);
+        assertThat(contactLookupIndex.get(ContactType.PHONE, "5550100", () -> List.of(fresh))).containsExactly(fresh);
+        assertThat(contactLookupIndex.get(ContactType.PHONE, "5550100", () -> List.of(stale))).containsExactly(fresh);
+    }
+}
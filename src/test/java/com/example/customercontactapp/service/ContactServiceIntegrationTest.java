@@ -1,10 +1,16 @@
 package com.example.customercontactapp.service;
 
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.dto.CustomerVersion;
 import com.example.customercontactapp.entity.Contact;
 import com.example.customercontactapp.entity.ContactType;
 import com.example.customercontactapp.entity.Customer;
 import com.example.customercontactapp.repository.ContactRepository;
 import com.example.customercontactapp.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +35,12 @@ class ContactServiceIntegrationTest {
     @Autowired
     private ContactRepository contactRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void setUp() {
         contactRepository.deleteAll();
@@ -48,6 +60,31 @@ class ContactServiceIntegrationTest {
         assertThat(savedContact.getCustomerId()).isEqualTo(customer.getId());
     }
 
+    @Test
+    void testCreateContact_DoesNotLoadExistingContacts() {
+        Customer customer = new Customer("John Doe");
+        for (int i = 0; i < 100; i++) {
+            customer.addContact(new Contact(null, ContactType.PHONE, "555-000-" + i));
+        }
+        customerRepository.save(customer);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Contact savedContact = contactService.createContact(customer.getId(),
+                new Contact(customer.getId(), ContactType.EMAIL, "john@example.com"));
+        entityManager.flush();
+
+        assertThat(savedContact.getId()).isNotNull();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        // the customer is never loaded, its contacts version moves with a native UPDATE
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+    }
+
     @Test
     void testCreateContact_CustomerNotFound() {
         Contact contact = new Contact(null,ContactType.PHONE, "123-456-7890");
@@ -143,6 +180,22 @@ class ContactServiceIntegrationTest {
         assertThat(contacts).isEmpty();
     }
 
+    @Test
+    void testGetContactResponsesByCustomerId() {
+        Customer customer1 = customerRepository.save(new Customer("John Doe"));
+        Customer customer2 = customerRepository.save(new Customer("Jane Smith"));
+
+        Contact phone = contactService.createContact(customer1.getId(), new Contact(customer1.getId(), ContactType.PHONE, "111-111-1111"));
+        Contact email = contactService.createContact(customer1.getId(), new Contact(customer1.getId(), ContactType.EMAIL, "john@example.com"));
+        contactService.createContact(customer2.getId(), new Contact(customer2.getId(), ContactType.PHONE, "222-222-2222"));
+
+        List<ContactResponse> contacts = contactService.getContactResponsesByCustomerId(customer1.getId());
+
+        assertThat(contacts).containsExactly(
+            new ContactResponse(phone.getId(), ContactType.PHONE, "111-111-1111", 0L),
+            new ContactResponse(email.getId(), ContactType.EMAIL, "john@example.com", 0L));
+    }
+
     @Test
     void testUpdateContact() {
         Customer customer = customerRepository.save(new Customer("John Doe"));
@@ -203,6 +256,36 @@ class ContactServiceIntegrationTest {
         assertThat(foundCustomer).isPresent();
     }
 
+    @Test
+    void testContactWrites_BumpContactsVersionOnly() {
+        Customer customer = customerRepository.saveAndFlush(new Customer("John Doe"));
+        CustomerVersion initial = contactService.getCustomerVersion(customer.getId()).orElseThrow();
+
+        Contact contact = contactService.createContact(customer.getId(),
+                new Contact(customer.getId(), ContactType.PHONE, "123-456-7890"));
+        entityManager.flush();
+        CustomerVersion afterCreate = contactService.getCustomerVersion(customer.getId()).orElseThrow();
+
+        contactService.updateContact(contact.getId(), new Contact(customer.getId(), ContactType.PHONE, "987-654-3210"));
+        entityManager.flush();
+        CustomerVersion afterUpdate = contactService.getCustomerVersion(customer.getId()).orElseThrow();
+
+        contactService.deleteContact(contact.getId());
+        entityManager.flush();
+        CustomerVersion afterDelete = contactService.getCustomerVersion(customer.getId()).orElseThrow();
+
+        assertThat(afterCreate.contactsVersion()).isGreaterThan(initial.contactsVersion());
+        assertThat(afterUpdate.contactsVersion()).isGreaterThan(afterCreate.contactsVersion());
+        assertThat(afterDelete.contactsVersion()).isGreaterThan(afterUpdate.contactsVersion());
+        // the customer's own fields did not change, an If-Match taken before still applies
+        assertThat(afterDelete.version()).isEqualTo(initial.version());
+    }
+
+    @Test
+    void testGetCustomerVersion_CustomerNotFound() {
+        assertThat(contactService.getCustomerVersion(999L)).isEmpty();
+    }
+
     @Test
     void testAllContactTypes() {
         Customer customer = customerRepository.save(new Customer("John Doe"));
@@ -0,0 +1,171 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.dto.CustomerPatch;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.*;
+
+// not @Transactional: the second-level cache is only written on commit
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+class CustomerCacheIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testGetCustomerById_ServedFromCache() {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        Long customerId = customerService.createCustomer(customer).getId();
+        customerService.getCustomerById(customerId);
+
+        statistics.clear();
+        Customer cached = customerService.getCustomerById(customerId).orElseThrow();
+
+        assertThat(cached.getContacts()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void testGetContactsByCustomerId_ServedFromQueryCache() {
+        Long customerId = customerService.createCustomer(new Customer("John Doe")).getId();
+        contactService.createContact(customerId, new Contact(customerId, ContactType.PHONE, "111-111-1111"));
+        contactService.getContactsByCustomerId(customerId);
+
+        statistics.clear();
+        assertThat(contactService.getContactsByCustomerId(customerId)).hasSize(1);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testContactCountsByType_ServedFromQueryCacheUntilContactWrite() {
+        Long customerId = customerService.createCustomer(new Customer("John Doe")).getId();
+        contactService.createContact(customerId, new Contact(customerId, ContactType.PHONE, "111-111-1111"));
+        contactService.getContactCountsByType();
+
+        statistics.clear();
+        assertThat(contactService.getContactCountsByType()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        contactService.createContact(customerId, new Contact(customerId, ContactType.EMAIL, "john@example.com"));
+        assertThat(contactService.getContactCountsByType()).hasSize(2);
+    }
+
+    @Test
+    void testContactWritesEvictCachedContacts() {
+        Long customerId = customerService.createCustomer(new Customer("John Doe")).getId();
+        Contact phone = contactService.createContact(customerId, new Contact(customerId, ContactType.PHONE, "111-111-1111"));
+        assertThat(customerService.getCustomerById(customerId).orElseThrow().getContacts()).hasSize(1);
+        assertThat(contactService.getContactsByCustomerId(customerId)).hasSize(1);
+
+        contactService.createContact(customerId, new Contact(customerId, ContactType.EMAIL, "john@example.com"));
+        assertThat(customerService.getCustomerById(customerId).orElseThrow().getContacts()).hasSize(2);
+        assertThat(contactService.getContactsByCustomerId(customerId)).hasSize(2);
+
+        contactService.updateContact(phone.getId(), new Contact(customerId, ContactType.PHONE, "222-222-2222"));
+        assertThat(contactService.getContactsByCustomerId(customerId)).extracting(Contact::getContactInfo)
+                .contains("222-222-2222");
+
+        contactService.deleteContact(phone.getId());
+        assertThat(customerService.getCustomerById(customerId).orElseThrow().getContacts()).hasSize(1);
+        assertThat(contactService.getContactsByCustomerId(customerId)).hasSize(1);
+    }
+
+    @Test
+    void testUpdateCustomerWithContactsEvictsCachedContacts() {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        Long customerId = customerService.createCustomer(customer).getId();
+        customerService.getCustomerById(customerId);
+
+        Customer updateRequest = new Customer("John Smith");
+        updateRequest.addContact(new Contact(null, ContactType.EMAIL, "john@example.com"));
+        updateRequest.addContact(new Contact(null, ContactType.HOME, "123 Main St"));
+        customerService.updateCustomerWithContacts(customerId, updateRequest);
+
+        Customer reloaded = customerService.getCustomerById(customerId).orElseThrow();
+        assertThat(reloaded.getName()).isEqualTo("John Smith");
+        assertThat(reloaded.getContacts()).extracting(Contact::getContactType)
+                .containsExactlyInAnyOrder(ContactType.EMAIL, ContactType.HOME);
+    }
+
+    @Test
+    void testPatchCustomer_KeepsOtherCustomersCached() {
+        Customer other = new Customer("Jane Doe");
+        other.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        Long otherId = customerService.createCustomer(other).getId();
+        Long customerId = customerService.createCustomer(new Customer("John Doe")).getId();
+        customerService.getCustomerById(otherId);
+        customerService.getCustomerById(customerId);
+
+        customerService.patchCustomer(customerId, new CustomerPatch("John Smith"), null);
+
+        statistics.clear();
+        assertThat(customerService.getCustomerById(otherId).orElseThrow().getContacts()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+
+        assertThat(customerService.getCustomerById(customerId)).map(Customer::getName).contains("John Smith");
+    }
+
+    @Test
+    void testDeleteCustomer_KeepsOtherCustomersCached() {
+        Customer other = new Customer("Jane Doe");
+        other.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        Long otherId = customerService.createCustomer(other).getId();
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "222-222-2222"));
+        Long customerId = customerService.createCustomer(customer).getId();
+        customerService.getCustomerById(otherId);
+        customerService.getCustomerById(customerId);
+
+        customerService.deleteCustomer(customerId);
+
+        statistics.clear();
+        assertThat(customerService.getCustomerById(otherId).orElseThrow().getContacts()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+
+        assertThat(customerService.getCustomerById(customerId)).isEmpty();
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.CustomerPatch;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CustomerQueryCountIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetCustomerResponsesByIds_StatementCountIndependentOfCustomerCount() {
+        List<Long> few = ids(createCustomers(2));
+        long fewCustomers = countStatements(() -> customerService.getCustomerResponsesByIds(few));
+
+        List<Long> many = ids(createCustomers(20));
+        long manyCustomers = countStatements(() -> customerService.getCustomerResponsesByIds(many));
+
+        // one projection query, no managed entities
+        assertThat(manyCustomers).isEqualTo(fewCustomers).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testGetCustomers_StatementCountIndependentOfPageSize() {
+        createCustomers(25);
+
+        long smallPage = countStatements(() -> getPage(2));
+        long largePage = countStatements(() -> getPage(20));
+
+        // the id page, then one projection query for the chunk
+        assertThat(largePage).isEqualTo(smallPage).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testGetCustomerById_FixedStatementCount() {
+        Customer customer = createCustomers(1).get(0);
+
+        long statements = countStatements(() -> customerService.getCustomerById(customer.getId()).orElseThrow().getContacts().size());
+
+        // customer and its contacts collection, both second-level cacheable
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void testCreateCustomerWithContacts_BatchesInserts() {
+        Customer customer = new Customer("John Doe");
+        for (int i = 0; i < 30; i++) {
+            customer.addContact(new Contact(null, ContactType.PHONE, "555-000-" + i));
+        }
+        statistics.clear();
+
+        customerService.createCustomer(customer);
+        entityManager.flush();
+
+        // at most two sequence calls, one customer insert and one contact batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void testUpdateCustomerWithContacts_WritesOnlyChangedRows() {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        customer.addContact(new Contact(null, ContactType.EMAIL, "old@example.com"));
+        customer.addContact(new Contact(null, ContactType.HOME, "123 Main St"));
+        customerService.createCustomer(customer);
+        entityManager.flush();
+        Long phoneId = customer.getContacts().get(0).getId();
+        Long emailId = customer.getContacts().get(1).getId();
+        entityManager.clear();
+
+        Customer updateRequest = new Customer("John Smith");
+        updateRequest.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        Contact changedEmail = new Contact(null, ContactType.EMAIL, "new@example.com");
+        changedEmail.setId(emailId);
+        updateRequest.addContact(changedEmail);
+        updateRequest.addContact(new Contact(null, ContactType.PHONE, "222-222-2222"));
+        statistics.clear();
+
+        Customer updatedCustomer = customerService.updateCustomerWithContacts(customer.getId(), updateRequest);
+        entityManager.flush();
+
+        assertThat(updatedCustomer.getContacts()).hasSize(3);
+        assertThat(updatedCustomer.getContacts()).extracting(Contact::getId).contains(phoneId, emailId);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+        // the renamed customer and the changed email
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testPatchCustomer_SingleStatement() {
+        Customer customer = createCustomers(1).get(0);
+        entityManager.clear();
+        statistics.clear();
+
+        customerService.patchCustomer(customer.getId(), new CustomerPatch("John Smith"), null);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(customerRepository.findById(customer.getId())).get()
+            .extracting(Customer::getName).isEqualTo("John Smith");
+    }
+
+    @Test
+    void testDeleteCustomers_StatementCountIndependentOfContactCount() {
+        Customer customer = new Customer("John Doe");
+        for (int i = 0; i < 200; i++) {
+            customer.addContact(new Contact(null, ContactType.PHONE, "555-000-" + i));
+        }
+        customerService.createCustomer(customer);
+        List<Customer> others = createCustomers(5);
+        entityManager.clear();
+        statistics.clear();
+
+        List<Long> ids = new ArrayList<>(others.stream().map(Customer::getId).toList());
+        ids.add(customer.getId());
+        assertThat(customerService.deleteCustomers(ids)).isEqualTo(6);
+
+        // the contact keys to evict, then one DELETE for the contacts and one for the customers
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(customerRepository.count()).isZero();
+    }
+
+    private List<Customer> createCustomers(int count) {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer("Customer " + i);
+            customer.addContact(new Contact(null, ContactType.PHONE, "555-000-" + i));
+            customer.addContact(new Contact(null, ContactType.EMAIL, "customer" + i + "@example.com"));
+            customers.add(customerRepository.save(customer));
+        }
+        entityManager.flush();
+        return customers;
+    }
+
+    private List<Long> ids(List<Customer> customers) {
+        return customers.stream().map(Customer::getId).toList();
+    }
+
+    // the list endpoint, id page plus chunked responses as a client sees it
+    private void getPage(int limit) {
+        try {
+            mockMvc.perform(get("/api/customers").param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(limit));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long countStatements(Runnable query) {
+        // start from an empty persistence context so every load goes to the database
+        entityManager.clear();
+        statistics.clear();
+
+        query.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.CustomerSearchHit;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// not @Transactional: the search index is updated on commit
+@SpringBootTest
+class CustomerSearchIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testSearchCustomers_PrefixAndFuzzy() {
+        Customer john = customerService.createCustomer(new Customer("John Doe"));
+        Customer jane = customerService.createCustomer(new Customer("Jane Doe"));
+        customerService.createCustomer(new Customer("Bob Smith"));
+
+        assertThat(customerService.searchCustomers("jo", 0, 10))
+            .extracting(CustomerSearchHit::id).containsExactly(john.getId());
+        assertThat(customerService.searchCustomers("Jhon", 0, 10))
+            .extracting(CustomerSearchHit::id).contains(john.getId());
+        assertThat(customerService.searchCustomers("doe", 0, 10))
+            .extracting(CustomerSearchHit::id).containsExactlyInAnyOrder(john.getId(), jane.getId());
+        assertThat(customerService.searchCustomers("john doe", 0, 10))
+            .extracting(CustomerSearchHit::name).first().isEqualTo("John Doe");
+        assertThat(customerService.searchCustomers("xyz", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void testSearchCustomers_Paginated() {
+        for (int i = 0; i < 5; i++) {
+            customerService.createCustomer(new Customer("Smith " + i));
+        }
+
+        List<CustomerSearchHit> firstPage = customerService.searchCustomers("smith", 0, 3);
+        List<CustomerSearchHit> secondPage = customerService.searchCustomers("smith", 3, 3);
+
+        assertThat(firstPage).hasSize(3);
+        assertThat(secondPage).hasSize(2);
+        assertThat(firstPage).doesNotContainAnyElementsOf(secondPage);
+    }
+
+    @Test
+    void testSearchCustomers_FollowsUpdatesAndDeletes() {
+        Customer customer = customerService.createCustomer(new Customer("John Doe"));
+
+        customerService.updateCustomerWithContacts(customer.getId(), new Customer("Alice Walker"));
+        assertThat(customerService.searchCustomers("john", 0, 10)).isEmpty();
+        assertThat(customerService.searchCustomers("walk", 0, 10))
+            .extracting(CustomerSearchHit::id).containsExactly(customer.getId());
+
+        customerService.deleteCustomer(customer.getId());
+        assertThat(customerService.searchCustomers("walk", 0, 10)).isEmpty();
+    }
+}
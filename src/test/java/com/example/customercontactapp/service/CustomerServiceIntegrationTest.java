@@ -1,5 +1,7 @@
 package com.example.customercontactapp.service;
 
+import com.example.customercontactapp.dto.ContactResponse;
+import com.example.customercontactapp.dto.CustomerResponse;
 import com.example.customercontactapp.entity.Contact;
 import com.example.customercontactapp.entity.ContactType;
 import com.example.customercontactapp.entity.Customer;
@@ -10,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,23 +58,19 @@ class CustomerServiceIntegrationTest {
     }
 
     @Test
-    void testGetAllCustomers() {
-        customerService.createCustomer(new Customer("John Doe"));
-        customerService.createCustomer(new Customer("Jane Smith"));
-        customerService.createCustomer(new Customer("Bob Johnson"));
-
-        List<Customer> customers = customerService.getAllCustomers();
+    void testGetCustomerIdsAfter() {
+        Customer first = customerService.createCustomer(new Customer("John Doe"));
+        Customer jane = customerService.createCustomer(new Customer("Jane Smith"));
+        Customer bob = customerService.createCustomer(new Customer("Bob Johnson"));
 
-        assertThat(customers).hasSize(3);
-        assertThat(customers).extracting(Customer::getName)
-                .containsExactlyInAnyOrder("John Doe", "Jane Smith", "Bob Johnson");
+        assertThat(customerService.getCustomerIdsAfter(first.getId(), 10)).containsExactly(jane.getId(), bob.getId());
+        assertThat(customerService.getCustomerIdsAfter(0L, 1)).containsExactly(first.getId());
     }
 
     @Test
-    void testGetAllCustomers_EmptyList() {
-        List<Customer> customers = customerService.getAllCustomers();
-
-        assertThat(customers).isEmpty();
+    void testGetCustomerIdsAfter_EmptyList() {
+        assertThat(customerService.getCustomerIdsAfter(0L, 10)).isEmpty();
+        assertThat(customerService.getCustomerResponsesByIds(List.of())).isEmpty();
     }
 
     @Test
@@ -201,4 +200,52 @@ class CustomerServiceIntegrationTest {
         assertThat(savedCustomer.getContacts()).hasSize(1);
         assertThat(savedContact.getContactType()).isEqualTo(ContactType.PHONE);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetCustomerResponsesByIds() {
+        Customer john = new Customer("John Doe");
+        john.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        john.addContact(new Contact(null, ContactType.EMAIL, "john@example.com"));
+        Customer first = customerService.createCustomer(john);
+        Customer jane = customerService.createCustomer(new Customer("Jane Smith"));
+
+        List<CustomerResponse> customers = customerService.getCustomerResponsesByIds(List.of(first.getId(), jane.getId()));
+
+        assertThat(customers).extracting(CustomerResponse::id).containsExactly(first.getId(), jane.getId());
+        assertThat(customers.get(0).contacts()).extracting(ContactResponse::contactInfo)
+                .containsExactly("111-111-1111", "john@example.com");
+        assertThat(customers.get(1).contacts()).isEmpty();
+        assertThat(customerService.getCustomerResponsesByIds(List.of(jane.getId(), 999L)))
+                .extracting(CustomerResponse::name).containsExactly("Jane Smith");
+    }
+
+    @Test
+    void testStreamCustomerResponses() {
+        Customer john = new Customer("John Doe");
+        john.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        john.addContact(new Contact(null, ContactType.HOME, "123 Main St"));
+        customerService.createCustomer(john);
+        customerService.createCustomer(new Customer("Jane Smith"));
+
+        List<CustomerResponse> customers = new ArrayList<>();
+        customerService.streamCustomerResponses(customers::add);
+
+        assertThat(customers).extracting(CustomerResponse::name).containsExactly("John Doe", "Jane Smith");
+        assertThat(customers.get(0).contacts()).hasSize(2);
+        assertThat(customers.get(1).contacts()).isEmpty();
+    }
+
+    @Test
+    void testGetCustomerResponseById() {
+        Customer customer = new Customer("John Doe");
+        customer.addContact(new Contact(null, ContactType.PHONE, "111-111-1111"));
+        Customer saved = customerService.createCustomer(customer);
+
+        Optional<CustomerResponse> found = customerService.getCustomerResponseById(saved.getId());
+
+        assertThat(found).isPresent();
+        assertThat(found.get().name()).isEqualTo("John Doe");
+        assertThat(found.get().contacts()).extracting(ContactResponse::contactType).containsExactly(ContactType.PHONE);
+        assertThat(customerService.getCustomerResponseById(999L)).isEmpty();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+// not @Transactional: each update (and each retry) has to commit on its own
+@SpringBootTest(properties = "app.optimistic-lock.max-attempts=20")
+class OptimisticLockingIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testUpdateCustomer_IncrementsVersion() {
+        Customer customer = customerService.createCustomer(new Customer("John Doe"));
+        assertThat(customer.getVersion()).isEqualTo(0L);
+
+        Customer updated = customerService.updateCustomer(customer.getId(), new Customer("John Smith"), 0L);
+
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(customerRepository.findById(customer.getId())).get()
+            .extracting(Customer::getName).isEqualTo("John Smith");
+    }
+
+    @Test
+    void testUpdateCustomer_StaleVersion() {
+        Customer customer = customerService.createCustomer(new Customer("John Doe"));
+        customerService.updateCustomer(customer.getId(), new Customer("John Smith"));
+
+        assertThatThrownBy(() -> customerService.updateCustomer(customer.getId(), new Customer("Jane Doe"), 0L))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(customerRepository.findById(customer.getId())).get()
+            .extracting(Customer::getName).isEqualTo("John Smith");
+    }
+
+    @Test
+    void testUpdateCustomer_ConcurrentBlindWritesAreRetried() throws Exception {
+        Customer customer = customerService.createCustomer(new Customer("John Doe"));
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            List<Future<Customer>> results = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                String name = "Writer " + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return customerService.updateCustomer(customer.getId(), new Customer(name));
+                }));
+            }
+            start.countDown();
+            for (Future<Customer> result : results) {
+                assertThat(result.get().getName()).startsWith("Writer ");
+            }
+        }
+
+        assertThat(customerRepository.findById(customer.getId())).get()
+            .extracting(Customer::getVersion).isEqualTo((long) writers);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.customercontactapp.service;
+
+import com.example.customercontactapp.dto.ContactOwner;
+import com.example.customercontactapp.dto.CustomerResponse;
+import com.example.customercontactapp.entity.Contact;
+import com.example.customercontactapp.entity.ContactType;
+import com.example.customercontactapp.entity.Customer;
+import com.example.customercontactapp.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// A second in-memory H2 stands in for the replica. Nothing replicates into it, so rows
+// written through the services only show up there once the test copies them. The caches are
+// asked for so the test can check which of them a replica turns off.
+@SpringBootTest(properties = {
+    "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+    "app.datasource.replica.username=sa",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    "app.contact-lookup.cache-enabled=true"
+})
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure()
+            .dataSource(replicaDataSource)
+            .locations("classpath:db/migration", "classpath:com/example/customercontactapp/migration")
+            .load()
+            .migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("DELETE FROM contacts");
+        replica.update("DELETE FROM customers");
+        customerRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testReadOnlyMethodsReadFromReplica() {
+        Customer customer = customerService.createCustomer(new Customer("John Doe"));
+
+        assertThat(customerService.getCustomerById(customer.getId())).isEmpty();
+        assertThat(customerService.getCustomerIdsAfter(0L, 10)).isEmpty();
+
+        replica.update("INSERT INTO customers (id, name) VALUES (?, ?)", customer.getId(), "John Doe");
+
+        assertThat(customerService.getCustomerById(customer.getId())).map(Customer::getName).contains("John Doe");
+        assertThat(customerService.getCustomerIdsAfter(0L, 10)).containsExactly(customer.getId());
+        assertThat(customerService.getCustomerResponsesByIds(List.of(customer.getId())))
+            .extracting(CustomerResponse::name).containsExactly("John Doe");
+    }
+
+    @Test
+    void testWritesGoToPrimary() {
+        Customer customer = customerService.createCustomer(new Customer("John Doe"));
+
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM customers WHERE id = ?", Integer.class, customer.getId()))
+            .isEqualTo(1);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM customers", Integer.class)).isZero();
+    }
+
+    @Test
+    void testSecondLevelAndQueryCacheOffWithReplica() {
+        SessionFactoryOptions options = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getSessionFactoryOptions();
+
+        assertThat(options.isSecondLevelCacheEnabled()).isFalse();
+        assertThat(options.isQueryCacheEnabled()).isFalse();
+    }
+
+    @Test
+    void testContactLookupAfterWrite_NotFilledFromStaleReplica() {
+        Customer customer = customerService.createCustomer(new Customer("John Doe"));
+        Contact contact = contactService.createContact(customer.getId(),
+            new Contact(customer.getId(), ContactType.EMAIL, "john@example.com"));
+        replica.update("INSERT INTO customers (id, name) VALUES (?, ?)", customer.getId(), "John Doe");
+        replica.update("""
+            INSERT INTO contacts (id, contact_type, contact_info, normalized_info, customer_id, version)
+            VALUES (?, 'EMAIL', 'john@example.com', 'john@example.com', ?, 0)
+            """, contact.getId(), customer.getId());
+
+        assertThat(contactService.findOwners(ContactType.EMAIL, "john@example.com"))
+            .extracting(ContactOwner::contactId).containsExactly(contact.getId());
+
+        // the replica keeps the old address
+        contactService.updateContact(contact.getId(), new Contact(customer.getId(), ContactType.EMAIL, "jd@example.com"));
+
+        assertThat(contactService.findOwners(ContactType.EMAIL, "john@example.com")).isEmpty();
+        assertThat(contactService.findOwners(ContactType.EMAIL, "jd@example.com"))
+            .extracting(ContactOwner::contactId).containsExactly(contact.getId());
+    }
+}